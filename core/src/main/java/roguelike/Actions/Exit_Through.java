@@ -6,9 +6,6 @@ import roguelike.Generation.Map;
 import roguelike.utilities.Point;
 import squidpony.squidmath.Coord;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import static roguelike.Generation.World.entityManager;
 
 public class Exit_Through extends Action{
@@ -30,23 +27,8 @@ public class Exit_Through extends Action{
 
 			remove_active_flag(entityManager.gc(entity, Position.class).map);
 			entityManager.gc(entity, Position.class).map.entities.remove(entity);
-			//clears all Glyphs and ends any actions they are processing
-//			for (; !entityManager.display.glyphs.isEmpty();) {
-//				entityManager.display.removeGlyph(entityManager.display.glyphs.get(entityManager.display.glyphs.size()-1));
-//			}
-			Set<Integer> ents = new HashSet<>(entityManager.getAllEntitiesPossessingComponent(Sprite.class));
-			for(Integer i : ents)
-			{
-				if(entity.equals(i))
-					continue;
-				Sprite sprite = entityManager.gc(i, Sprite.class);
-				if(sprite != null && sprite.glyph != null) 
-				{
-					entityManager.display.removeGlyph(sprite.glyph);
-					sprite.glyph = null;
-//					entityManager.remove_component(i, Sprite.class);
-				}
-			}
+			//clears the glyphs of the map being left and ends any actions they are processing
+			entityManager.glyphs.detach_map(entityManager.gc(entity, Position.class).map);
 			entityManager.gc(entity, Position.class).map.findExit(temp_position).set_player_location();
 			Exit exit = entityManager.gc(entity, Position.class).map.findExit(temp_position);
 
@@ -61,7 +43,6 @@ public class Exit_Through extends Action{
 			entityManager.addComponent(entity, vision);
 
 			entityManager.gc(entity, Action_Component.class).setAction(null);
-			entityManager.gc(entity, Sprite.class).makeGlyph(entityManager.display, position.location.x, position.location.y);
 			return true;
 		}
 
@@ -1,10 +1,13 @@
 package roguelike.Actions;
 
 import roguelike.Components.*;
-import roguelike.Effects.Damage;
+import roguelike.Effects.Combat_Profile;
+import roguelike.Enums.Stat;
 import roguelike.engine.Message_Log;
+import roguelike.engine.Tween_Batch;
 import squidpony.squidgrid.Direction;
 import squidpony.squidmath.Coord;
+import squidpony.squidmath.RNG;
 import roguelike.Systems.Death_System;
 import roguelike.utilities.Roll;
 
@@ -12,55 +15,48 @@ import static roguelike.Generation.World.entityManager;
 
 public class Melee_Attack extends Action{
 
+	public static final int COST = 1000;
+	private static final int ATTACK = Message_Log.verb("attack");
+
 	public Integer attacker;
 	public Integer target;
 
 	public Melee_Attack(Integer attacker, Integer target){
 		this.attacker = attacker;
 		this.target = target;
-		this.cost = 1000;
+		this.cost = COST;
+	}
+
+	// Spends the attack's energy and rolls its damage, or returns -1 if the attacker hasn't the energy to
+	// swing yet. perform() and the combat simulator both attack through here, so they charge the same.
+	public static int strike(Energy energy, Combat_Profile attacker, Combat_Profile defender, RNG rng){
+		if(energy.energy < COST)
+			return -1;
+		energy.energy -= COST;
+		return attacker.resolve_attack(defender, rng);
 	}
 
 	@Override
 	public boolean perform() {
 
-		if (entityManager.gc(attacker, Energy.class).energy < cost)
-			return true;
-		entityManager.gc(attacker, Energy.class).energy -= cost;
+		Energy energy = entityManager.gc(attacker, Energy.class);
 		Position position = entityManager.gc(attacker, Position.class);
-		if (position == null)
-			return true;
-		Coord location = position.location;
 		Position aimPosition = entityManager.gc(target, Position.class);
-		if (aimPosition == null)
-			return true;
-		Coord aim = aimPosition.location;
-		Sprite sprite = entityManager.gc(attacker, Sprite.class);
-		if(sprite != null && sprite.glyph != null) 
-			entityManager.display.bump(0f, sprite.glyph,
-				Direction.getDirection(location.x - aim.x, location.y - aim.y), 0.15f, null);
-		int damage = 0;
-		String type;
-		Equipment targetEquipment = entityManager.gc(target, Equipment.class);
 		Equipment equipment = entityManager.gc(attacker, Equipment.class);
-		if (equipment == null || targetEquipment == null)
+		Equipment targetEquipment = entityManager.gc(target, Equipment.class);
+		if (position == null || aimPosition == null || equipment == null || targetEquipment == null)
+			return true;
+		int damage = strike(energy, equipment.get_profile(), targetEquipment.get_profile(), Roll.rng);
+		if (damage < 0)
 			return true;
-		for (Damage dam : equipment.get_melee_damages()) {
-			String[] types = dam.type.split("/");
-			type = types[Roll.rand(0, types.length - 1)];
-			int defensive_amount = targetEquipment.get_resistance_from_type(type);
-			damage += dam.roll() - defensive_amount;
-
-			if (damage < 0) {
-				damage = 0;
-			}
-		}
 
-		Message_Log.getInstance().add_formatted_message("attack", attacker, target, damage);
+		Coord location = position.location;
+		Coord aim = aimPosition.location;
+		Tween_Batch.getInstance().bump(attacker, location, Direction.getDirection(location.x - aim.x, location.y - aim.y));
 
-		entityManager.gc(attacker, Energy.class).energy -= cost;
+		Message_Log.getInstance().add(ATTACK, attacker, target, damage);
 
-		new Death_System(attacker, target, "health", -damage).process();
+		Death_System.getInstance().post_damage(attacker, target, Stat.HEALTH, -damage);
 		
 		entityManager.gc(attacker, Action_Component.class).setAction(null);
 
@@ -1,6 +1,7 @@
 package roguelike.Actions;
 
 import roguelike.Components.*;
+import roguelike.engine.Tween_Batch;
 import roguelike.utilities.Point;
 import squidpony.squidmath.Coord;
 
@@ -48,10 +49,7 @@ public class Move extends Action{
 			if (entityManager.gc(entity, Energy.class).energy < cost)
 				return true;
 			entityManager.gc(entity, Energy.class).energy -= cost;
-			Sprite sprite = entityManager.gc(entity, Sprite.class);
-			if(sprite != null && sprite.glyph != null) 
-				entityManager.display.slide(sprite.glyph, location.x, location.y + 2,
-					location.x + direction.x, location.y + direction.y + 2, 0.15f, null);
+			Tween_Batch.getInstance().slide(entity, location, location.add(direction));
 			Position pos = entityManager.gc(entity, Position.class);
 			if (pos != null)
 				pos.update_location(direction);
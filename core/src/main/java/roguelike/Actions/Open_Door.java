@@ -1,6 +1,7 @@
 package roguelike.Actions;
 
 import roguelike.Components.*;
+import roguelike.engine.Tween_Batch;
 import squidpony.squidmath.Coord;
 
 import static roguelike.Generation.World.entityManager;
@@ -20,8 +21,7 @@ public class Open_Door extends Action{
 		entityManager.gc(entity, Energy.class).energy -= cost;
 
 		Coord location = entityManager.gc(entity, Position.class).location;
-		entityManager.display.slide(entityManager.gc(entity, Sprite.class)
-						.makeGlyph(entityManager.display, location.x, location.y + 2), location.x, location.y + 2, location.x, location.y + 2, 0.15f, null);
+		Tween_Batch.getInstance().slide(entity, location, location);
 		entityManager.gc(entity, Position.class).map.open_door(location, direction);
 		entityManager.gc(entity, Vision.class).setLocation(location);
 		
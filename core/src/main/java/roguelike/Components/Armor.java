@@ -1,22 +1,28 @@
 package roguelike.Components;
 
 import org.json.simple.JSONObject;
+import roguelike.Enums.Damage_Type;
 
 public class Armor implements Component{
 
-	public int piercing;
-	public int slashing;
-	public int crushing;
+	public final int[] resistances;     // by Damage_Type ordinal
+
+	public Armor(int[] resistances){
+		this.resistances = resistances;
+	}
 
 	public Armor(JSONObject object){
 
+		resistances = new int[Damage_Type.COUNT];
+
 		for(Object o : object.keySet()){
-			switch (o.toString()){
-				case "piercing": piercing = (int)(long)object.get(o.toString()); break;
-				case "slashing": slashing = (int)(long)object.get(o.toString()); break;
-				case "crushing": crushing = (int)(long)object.get(o.toString()); break;
-			}
+			Damage_Type type = Damage_Type.find_type(o.toString());
+			if(type != null)
+				resistances[type.ordinal()] = (int)(long)object.get(o.toString());
 		}
 	}
 
+	public int resistance(Damage_Type type){
+		return resistances[type.ordinal()];
+	}
 }
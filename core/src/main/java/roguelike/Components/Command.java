@@ -1,12 +1,15 @@
 package roguelike.Components;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
 import lombok.Getter;
 import roguelike.Actions.Action;
 import roguelike.Actions.Exit_Through;
 import roguelike.Actions.Move;
 import roguelike.engine.Game;
 import roguelike.engine.Message_Log;
+import roguelike.engine.Timings;
+import roguelike.engine.Tween_Batch;
 import roguelike.screens.Equipment_Screen;
 import roguelike.screens.Inventory_Screen;
 import roguelike.utilities.Point;
@@ -24,15 +27,15 @@ public class Command extends SquidInput implements Component {
 	private Equipment_Screen equipment_screen;
 	private Inventory_Screen inventory_screen;
 
+	private char last_key;
+	private long last_key_time;
+
 	public Command(final Integer entity, Game game) {
 		super();
 		this.entity = entity;
 		this.game = game;
 		setKeyHandler(new KH());
 		setRepeatGap(160);
-
-		this.equipment_screen = new Equipment_Screen(entity, game);
-		this.inventory_screen = new Inventory_Screen(entity, game);
 	}
 
 	private class KH implements KeyHandler
@@ -56,6 +59,13 @@ public class Command extends SquidInput implements Component {
 			 */
 			@Override
 			public void handle(char key, boolean alt, boolean ctrl, boolean shift) {
+				// the same key again within a couple of repeat gaps is being held down, so the turns it
+				// makes go by without animations
+				long now = TimeUtils.millis();
+				Tween_Batch.getInstance().setFast(key == last_key && now - last_key_time < getRepeatGap() * 2);
+				last_key = key;
+				last_key_time = now;
+
 				switch(key){
 				case DOWN_LEFT_ARROW:
 					action = new Move(entity, Point.SOUTH_WEST); break;
@@ -80,11 +90,27 @@ public class Command extends SquidInput implements Component {
 				case 'e':
 					lastKeyCode = -1; // needed because this class won't be used to handle input after the screen switch
 					action = null;
+					if(equipment_screen == null)    // screens are built the first time they're opened
+						equipment_screen = new Equipment_Screen(entity, game);
 					game.setScreen(equipment_screen); break;
 				case 'i':
 					lastKeyCode = -1;
 					action = null;
+					if(inventory_screen == null)
+						inventory_screen = new Inventory_Screen(entity, game);
 					game.setScreen(inventory_screen); break;
+				case PAGE_UP:
+					action = null;
+					Message_Log.getInstance().page_up(Game.message_buffer);
+					return;
+				case F3:
+					action = null;
+					Timings.toggle();
+					return;
+				case PAGE_DOWN:
+					action = null;
+					Message_Log.getInstance().page_down(Game.message_buffer);
+					return;
 				case 'q': // ctrl-q exits
 					if(ctrl) 
 						Gdx.app.exit(); // may want to add a confirm menu or save before exiting
@@ -96,6 +122,7 @@ public class Command extends SquidInput implements Component {
 
 			Message_Log.getInstance().ticks++;
 			Message_Log.getInstance().check_ticks();
+			Message_Log.getInstance().scroll_to_bottom();
 			entityManager.gc(entity, Action_Component.class).setAction(action);
 		}
 	}
@@ -16,6 +16,21 @@ public class Details implements Component{
 	public ArrayList<Hostility> hostile_to;
 
 	public boolean isPlayer;
+	public int template = -1;   // id of the Item_Template an item was made from, -1 for anything else
+
+	public Details(){
+		hostile_to = new ArrayList<>();
+		isPlayer = false;
+	}
+
+	public Details(Details other){
+		name = other.name;
+		description = other.description;
+		race = other.race;
+		hostile_to = new ArrayList<>(other.hostile_to);
+		isPlayer = other.isPlayer;
+		template = other.template;
+	}
 
 	public Details(JSONObject object){
 
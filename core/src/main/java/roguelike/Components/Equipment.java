@@ -1,19 +1,20 @@
 package roguelike.Components;
 
-import org.json.simple.JSONObject;
+import roguelike.Effects.Combat_Profile;
 import roguelike.Effects.Damage;
+import roguelike.Enums.Damage_Type;
 import roguelike.Enums.Equipment_Slot;
-import roguelike.Generation.Factory;
-import roguelike.utilities.Dice;
 
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import static roguelike.Generation.World.entityManager;
 
 public class Equipment implements Component{
 	public HashMap<Equipment_Slot, Integer> equipment;
 
+	private Combat_Profile profile;     // null until asked for after a slot changes
+
 	public Equipment(){
 		equipment = new HashMap<>();
 
@@ -22,21 +23,6 @@ public class Equipment implements Component{
 		}
 	}
 
-	public Equipment(JSONObject object){
-
-		equipment = new HashMap<>();
-
-		for(Object o : object.keySet()){
-
-			switch (o.toString()){
-				case "head": equipment.put(Equipment_Slot.HEAD, Factory.getInstance().create_new_item((String)object.get(o.toString()))); break;
-				case "chest": equipment.put(Equipment_Slot.CHEST, Factory.getInstance().create_new_item((String)object.get(o.toString()))); break;
-				case "left hand": equipment.put(Equipment_Slot.LEFT_HAND, Factory.getInstance().create_new_item((String)object.get(o.toString()))); break;
-				case "right hand": equipment.put(Equipment_Slot.RIGHT_HAND, Factory.getInstance().create_new_item((String)object.get(o.toString()))); break;
-			}
-		}
-	}
-
 	public String get_item_name(Equipment_Slot slot){
 		if(equipment.get(slot) == null){
 			return "";
@@ -50,138 +36,63 @@ public class Equipment implements Component{
 		return equipment.get(slot);
 	}
 
-	public int[] total_armor(){
-
-		int piercing = 0;
-		int slashing = 0;
-		int crushing = 0;
-
-		for(Equipment_Slot slot : Equipment_Slot.ALL){
-			if(equipment.get(slot) != null){
-				if(entityManager.gc(equipment.get(slot), Armor.class) != null) {
-					piercing += entityManager.gc(equipment.get(slot), Armor.class).piercing;
-					slashing += entityManager.gc(equipment.get(slot), Armor.class).slashing;
-					crushing += entityManager.gc(equipment.get(slot), Armor.class).crushing;
-				}
-			}
-		}
-
-		return new int[]{piercing, slashing, crushing};
+	// Fills a slot without any checks, for entities being built or loaded
+	public void put(Equipment_Slot slot, Integer item){
+		equipment.put(slot, item);
+		profile = null;
 	}
 
-	public int get_resistance_from_type(String type){
-
-		switch (type){
-			case "piercing": return get_piercing_resistance();
-			case "slashing": return get_slashing_resistance();
-			case "crushing": return get_crushing_resistance();
-			default: return 0;
-		}
-
+	public Combat_Profile get_profile(){
+		if(profile == null)
+			profile = build_profile();
+		return profile;
 	}
 
-	private int get_piercing_resistance(){
-		int amount = 0;
-		for(Equipment_Slot slot : Equipment_Slot.ALL){
-			if(equipment.get(slot) != null){
-				if(entityManager.gc(equipment.get(slot), Armor.class) != null) {
-					amount += entityManager.gc(equipment.get(slot), Armor.class).piercing;
-				}
-			}
+	public int[] total_armor(){
+		int[] armor = new int[Damage_Type.COUNT];
+		for(Damage_Type type : Damage_Type.ALL){
+			armor[type.ordinal()] = get_profile().resistance(type);
 		}
-		return amount;
+		return armor;
 	}
 
-	private int get_slashing_resistance(){
-		int amount = 0;
-		for(Equipment_Slot slot : Equipment_Slot.ALL){
-			if(equipment.get(slot) != null){
-				if(entityManager.gc(equipment.get(slot), Armor.class) != null) {
-					amount += entityManager.gc(equipment.get(slot), Armor.class).slashing;
-				}
-			}
-		}
-		return amount;
-	}
+	private Combat_Profile build_profile(){
+		int[] resistances = new int[Damage_Type.COUNT];
 
-	private int get_crushing_resistance(){
-		int amount = 0;
 		for(Equipment_Slot slot : Equipment_Slot.ALL){
-			if(equipment.get(slot) != null){
-				if(entityManager.gc(equipment.get(slot), Armor.class) != null) {
-					amount += entityManager.gc(equipment.get(slot), Armor.class).crushing;
+			Integer item = equipment.get(slot);
+			if(item != null){
+				Armor armor = entityManager.gc(item, Armor.class);
+				if(armor != null) {
+					for(int i = 0; i < resistances.length; i++){
+						resistances[i] += armor.resistances[i];
+					}
 				}
 			}
 		}
-		return amount;
-	}
 
-	private ArrayList<Damage> get_base_damage(){
-		ArrayList<Damage> damages = new ArrayList<>();
-		damages.add(new Damage("crushing", new Dice(1, 3)));
-		return damages;
+		return new Combat_Profile(resistances, build_melee_damages());
 	}
 
-	private ArrayList<Damage> get_left_damage(){
-		return entityManager.gc(equipment.get(Equipment_Slot.LEFT_HAND), Offensive_Component.class).damages;
+	private Damage[] build_melee_damages(){
+		return Combat_Profile.melee_damages(weapon(Equipment_Slot.RIGHT_HAND), weapon(Equipment_Slot.LEFT_HAND));
 	}
 
-	private ArrayList<Damage> get_right_damage(){
-		return entityManager.gc(equipment.get(Equipment_Slot.RIGHT_HAND), Offensive_Component.class).damages;
-	}
-
-	private ArrayList<Damage> get_dual_wield_damages(){
-		ArrayList<Damage> temp = new ArrayList<>(entityManager.gc(equipment.get(Equipment_Slot.RIGHT_HAND), Offensive_Component.class).damages);
-		temp.addAll(entityManager.gc(equipment.get(Equipment_Slot.LEFT_HAND), Offensive_Component.class).damages);
-
-		return temp;
-	}
-
-	public ArrayList<Damage> get_melee_damages(){
-
-		if(equipment.get(Equipment_Slot.LEFT_HAND) != null && equipment.get(Equipment_Slot.RIGHT_HAND) != null){
-
-			if(entityManager.gc(equipment.get(Equipment_Slot.LEFT_HAND), Offensive_Component.class) != null
-					&& entityManager.gc(equipment.get(Equipment_Slot.RIGHT_HAND), Offensive_Component.class) != null){
-				return get_dual_wield_damages();
-			}
-			else if(entityManager.gc(equipment.get(Equipment_Slot.RIGHT_HAND), Offensive_Component.class) != null
-					&& entityManager.gc(equipment.get(Equipment_Slot.LEFT_HAND), Offensive_Component.class) == null){
-				return get_right_damage();
-			}
-			else if(entityManager.gc(equipment.get(Equipment_Slot.LEFT_HAND), Offensive_Component.class) != null
-					&& entityManager.gc(equipment.get(Equipment_Slot.RIGHT_HAND), Offensive_Component.class) == null){
-				return get_left_damage();
-			}
-			else
-				return get_base_damage();
-
-		}
-		else if(equipment.get(Equipment_Slot.LEFT_HAND) != null && equipment.get(Equipment_Slot.RIGHT_HAND) == null){
-			if(entityManager.gc(equipment.get(Equipment_Slot.LEFT_HAND), Offensive_Component.class) != null){
-				return get_left_damage();
-			}
-			else
-				return get_base_damage();
-		}
-		else if(equipment.get(Equipment_Slot.RIGHT_HAND) != null && equipment.get(Equipment_Slot.LEFT_HAND) == null){
-			if(entityManager.gc(equipment.get(Equipment_Slot.RIGHT_HAND), Offensive_Component.class) != null){
-				return get_right_damage();
-			}
-			else
-				return get_base_damage();
-		}
-		else
-			return get_base_damage();
+	private List<Damage> weapon(Equipment_Slot slot){
+		Integer item = equipment.get(slot);
+		Offensive_Component offensive = item != null ? entityManager.gc(item, Offensive_Component.class) : null;
+		return offensive != null ? offensive.damages : null;
 	}
 
 	public void equip_item(Integer owner, Integer item, Equipment_Slot slot){
 
-		if(entityManager.gc(item, Equippable.class).slots.contains(slot) && equipment.get(slot) == null){
+		if(entityManager.gc(item, Equippable.class).fits(slot) && equipment.get(slot) == null){
 			equipment.put(slot, item);
+			profile = null;
 		}
-		else if(entityManager.gc(item, Equippable.class).slots.contains(slot) && equipment.get(slot) != null){
+		else if(entityManager.gc(item, Equippable.class).fits(slot) && equipment.get(slot) != null){
 			entityManager.gc(owner, Inventory.class).add_item(equipment.remove(slot));
+			profile = null;
 		}
 		else{
 			System.out.println("That doesn't go there.");
@@ -190,12 +101,14 @@ public class Equipment implements Component{
 
 	public void equip_item_from_inventory(Integer owner, Integer item, Equipment_Slot slot){
 
-		if(entityManager.gc(item, Equippable.class).slots.contains(slot) && equipment.get(slot) == null){
-			entityManager.gc(owner, Inventory.class).inventory.remove(item);
+		if(entityManager.gc(item, Equippable.class).fits(slot) && equipment.get(slot) == null){
+			entityManager.gc(owner, Inventory.class).remove_item(item);
 			equipment.put(slot, item);
+			profile = null;
 		}
-		else if(entityManager.gc(item, Equippable.class).slots.contains(slot) && equipment.get(slot) != null){
+		else if(entityManager.gc(item, Equippable.class).fits(slot) && equipment.get(slot) != null){
 			entityManager.gc(owner, Inventory.class).add_item(equipment.remove(slot));
+			profile = null;
 		}
 		else{
 			System.out.println("That doesn't go there.");
@@ -204,7 +117,10 @@ public class Equipment implements Component{
 
 	public void unequip_item(Equipment_Slot slot, Integer owner){
 		Integer item = equipment.get(slot);
-		equipment.remove(slot, equipment.get(slot));
+		if(item == null)
+			return;     // nothing in the slot
+		equipment.remove(slot, item);
+		profile = null;
 		entityManager.gc(owner, Inventory.class).add_item(item);
 	}
 }
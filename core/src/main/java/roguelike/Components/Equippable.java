@@ -4,21 +4,33 @@ import org.json.simple.JSONObject;
 import roguelike.Enums.Equipment_Slot;
 
 import java.util.ArrayList;
-import java.util.Set;
 
 public class Equippable implements Component{
 	public ArrayList<Equipment_Slot> slots;
+	public int slot_mask;   // Equipment_Slot bits of slots, kept in step by add_slot
+
+	public Equippable(){
+		slots = new ArrayList<>();
+	}
 
 	public Equippable(JSONObject object){
 		slots = new ArrayList<>();
 
 		for(Object o : object.keySet()){
-			switch (o.toString()){
-				case "head": slots.add(Equipment_Slot.HEAD); break;
-				case "chest": slots.add(Equipment_Slot.CHEST); break;
-				case "left hand": slots.add(Equipment_Slot.LEFT_HAND); break;
-				case "right hand": slots.add(Equipment_Slot.RIGHT_HAND); break;
-			}
+			Equipment_Slot slot = Equipment_Slot.find_slot(o.toString());
+			if(slot != null)
+				add_slot(slot);
+		}
+	}
+
+	public void add_slot(Equipment_Slot slot){
+		if((slot_mask & slot.bit) == 0){
+			slots.add(slot);
+			slot_mask |= slot.bit;
 		}
 	}
+
+	public boolean fits(Equipment_Slot slot){
+		return (slot_mask & slot.bit) != 0;
+	}
 }
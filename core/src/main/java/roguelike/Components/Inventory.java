@@ -1,34 +1,197 @@
 package roguelike.Components;
 
+import com.badlogic.gdx.utils.IntIntMap;
 import roguelike.Enums.Equipment_Slot;
+import squidpony.squidmath.IntVLA;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 
 import static roguelike.Generation.World.entityManager;
 
+// Carried items, kept in stacks of items made from the same template. A stack keeps its index while it
+// has anything in it and an emptied index goes on a free list for the next new stack, so adding or
+// removing an item never shifts anything. Each slot has a bitmask of the stacks that fit it, and the
+// lists handed out to the screens are only rebuilt from those after the contents change. The lists
+// are shared, so read them but don't keep or change them.
 public class Inventory implements Component{
 
-	public ArrayList<Integer> inventory;
+	private IntVLA[] stacks = new IntVLA[8];    // items by stack index, empty for a free index
+	private int[] templates = new int[8];       // Item_Template id of the stack, -1 if it never stacks
+	private int[] slot_masks = new int[8];      // Equipment_Slot bits the stack's items fit
+	private int stack_end;                      // past the highest stack index handed out so far
+	private final IntVLA free = new IntVLA();
+
+	private final IntIntMap stack_of = new IntIntMap();        // item -> stack index
+	private final IntIntMap position_of = new IntIntMap();     // item -> position in its stack
+	private final IntIntMap stack_for_template = new IntIntMap();
+
+	private final BitSet[] fitting = new BitSet[Equipment_Slot.COUNT];     // stack indices by slot
+	private final IntVLA[] fitting_views = new IntVLA[Equipment_Slot.COUNT];
+	private final int[] fitting_versions = new int[Equipment_Slot.COUNT];
+	private final IntVLA item_view = new IntVLA();
+	private final IntVLA stack_view = new IntVLA();
+	private int item_version = -1, stack_version = -1;
+
+	private int size;
+	private int version;
 
 	public Inventory(){
-		inventory = new ArrayList<>();
+		for(int i = 0; i < Equipment_Slot.COUNT; i++){
+			fitting[i] = new BitSet();
+			fitting_views[i] = new IntVLA();
+		}
+		Arrays.fill(fitting_versions, -1);
+	}
+
+	public void add_item(Integer item){
+		if(item == null || stack_of.containsKey(item))
+			return;
+
+		int template = template_of(item);
+		int stack = template >= 0 ? stack_for_template.get(template, -1) : -1;
+		if(stack < 0)
+			stack = new_stack(template, slot_mask_of(item));
+
+		position_of.put(item, stacks[stack].size);
+		stacks[stack].add(item);
+		stack_of.put(item, stack);
+		size++;
+		version++;
 	}
 
-	public ArrayList<Integer> get_items_that_fit_slot(Equipment_Slot slot){
-		ArrayList<Integer> items = new ArrayList<>();
+	public boolean remove_item(Integer item){
+		int stack = stack_of.remove(item, -1);
+		if(stack < 0)
+			return false;
 
-		for(Integer item : inventory){
-			if(entityManager.gc(item, Equippable.class).slots.contains(slot))
-				items.add(item);
+		// the last item of the stack takes the removed one's place
+		IntVLA items = stacks[stack];
+		int position = position_of.remove(item, -1);
+		int last = items.pop();
+		if(last != item){
+			items.set(position, last);
+			position_of.put(last, position);
 		}
+		if(items.size == 0)
+			free_stack(stack);
+		size--;
+		version++;
+		return true;
+	}
 
-		return items;
+	public boolean contains(Integer item){
+		return stack_of.containsKey(item);
 	}
-	public void add_item(Integer item){
-		inventory.add(item);
+
+	public int size(){
+		return size;
+	}
+
+	public boolean fits(Integer item, Equipment_Slot slot){
+		int stack = stack_of.get(item, -1);
+		return stack >= 0 && (slot_masks[stack] & slot.bit) != 0;
+	}
+
+	// How many items share the item's stack, 0 if it isn't carried
+	public int stack_size(Integer item){
+		int stack = stack_of.get(item, -1);
+		return stack >= 0 ? stacks[stack].size : 0;
+	}
+
+	// Every carried item
+	public IntVLA items(){
+		if(item_version != version){
+			item_view.clear();
+			for(int stack = 0; stack < stack_end; stack++){
+				IntVLA items = stacks[stack];
+				for(int i = 0; i < items.size; i++){
+					item_view.add(items.get(i));
+				}
+			}
+			item_version = version;
+		}
+		return item_view;
+	}
+
+	// One item from each stack, in stack order
+	public IntVLA stacks(){
+		if(stack_version != version){
+			stack_view.clear();
+			for(int stack = 0; stack < stack_end; stack++){
+				if(stacks[stack].size > 0)
+					stack_view.add(top(stack));
+			}
+			stack_version = version;
+		}
+		return stack_view;
+	}
+
+	// One item from each stack whose items go in the slot
+	public IntVLA fitting(Equipment_Slot slot){
+		int i = slot.ordinal();
+		if(fitting_versions[i] != version){
+			IntVLA view = fitting_views[i];
+			view.clear();
+			BitSet stacks_fitting = fitting[i];
+			for(int stack = stacks_fitting.nextSetBit(0); stack >= 0; stack = stacks_fitting.nextSetBit(stack + 1)){
+				view.add(top(stack));
+			}
+			fitting_versions[i] = version;
+		}
+		return fitting_views[i];
+	}
+
+	private int top(int stack){
+		IntVLA items = stacks[stack];
+		return items.get(items.size - 1);
+	}
+
+	private int new_stack(int template, int slot_mask){
+		int stack;
+		if(free.size > 0)
+			stack = free.pop();
+		else{
+			stack = stack_end++;
+			if(stack == stacks.length)
+				grow();
+			stacks[stack] = new IntVLA(4);
+		}
+
+		templates[stack] = template;
+		slot_masks[stack] = slot_mask;
+		if(template >= 0)
+			stack_for_template.put(template, stack);
+		for(Equipment_Slot slot : Equipment_Slot.ALL){
+			if((slot_mask & slot.bit) != 0)
+				fitting[slot.ordinal()].set(stack);
+		}
+		return stack;
+	}
+
+	private void free_stack(int stack){
+		if(templates[stack] >= 0)
+			stack_for_template.remove(templates[stack], -1);
+		for(BitSet slot : fitting){
+			slot.clear(stack);
+		}
+		free.add(stack);
+	}
+
+	private void grow(){
+		int capacity = stacks.length * 2;
+		stacks = Arrays.copyOf(stacks, capacity);
+		templates = Arrays.copyOf(templates, capacity);
+		slot_masks = Arrays.copyOf(slot_masks, capacity);
+	}
+
+	private static int template_of(Integer item){
+		Details details = entityManager.gc(item, Details.class);
+		return details != null ? details.template : -1;
 	}
 
-	public void remove_item(Integer item){
-		inventory.remove(item);
+	private static int slot_mask_of(Integer item){
+		Equippable equippable = entityManager.gc(item, Equippable.class);
+		return equippable != null ? equippable.slot_mask : 0;
 	}
 }
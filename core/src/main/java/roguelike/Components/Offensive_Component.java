@@ -9,6 +9,10 @@ public class Offensive_Component implements Component{
 
 	public ArrayList<Damage> damages;
 
+	public Offensive_Component(ArrayList<Damage> damages){
+		this.damages = damages;
+	}
+
 	public Offensive_Component(JSONObject object){
 
 		damages = new ArrayList<>();
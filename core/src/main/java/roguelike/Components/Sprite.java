@@ -3,32 +3,22 @@ package roguelike.Components;
 import com.badlogic.gdx.graphics.Color;
 import org.json.simple.JSONObject;
 import roguelike.utilities.Colors;
-import squidpony.squidgrid.gui.gdx.SparseLayers;
 import squidpony.squidgrid.gui.gdx.TextCellFactory;
 
 public class Sprite implements Component {
     public char character;
     public Color foregroundColor;
-    public TextCellFactory.Glyph glyph =null;
+    public TextCellFactory.Glyph glyph =null;     // set while Glyph_Registry has it on the display
     public Sprite(JSONObject object){
         this.character = getChar((String)object.get("glyph"));
         this.foregroundColor = Colors.getColor((String)object.get("color"));
     }
-    
-    public TextCellFactory.Glyph makeGlyph(SparseLayers display, int gridX, int gridY)
-    {
-        if(glyph == null) 
-            glyph = display.glyph(character, foregroundColor, gridX, gridY);
-        else
-        {
-            if(!display.glyphs.contains(glyph))
-                display.glyphs.add(glyph);
-            glyph.setPosition(display.worldX(gridX), display.worldY(gridY));
-        }
-        return glyph;
 
+    public Sprite(char character, Color foregroundColor){
+        this.character = character;
+        this.foregroundColor = foregroundColor;
     }
-
+    
     private char getChar(String string){
         return string.charAt(0);
     }
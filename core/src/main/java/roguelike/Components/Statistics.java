@@ -1,66 +1,135 @@
 package roguelike.Components;
 
 import org.json.simple.JSONObject;
-import roguelike.utilities.Limited_Statistic;
+import roguelike.Enums.Stat;
 
+import java.util.List;
+
+// Every stat of an entity packed into one array: the current values, then the minimums, then the
+// maximums, each block indexed by Stat ordinal. Changes are clamped to the limits.
 public class Statistics implements Component{
 
-	public Limited_Statistic health;
+	private static final int MINIMUM = Stat.COUNT;
+	private static final int MAXIMUM = Stat.COUNT * 2;
+
+	private static final int DEFAULT_MAXIMUM = 999;
+
+	private final int[] values;
+	private int version;        // goes up on every change, so anything showing stats knows when to redo it
 
-	public Limited_Statistic strength;
-	public Limited_Statistic intelligence;
-	public Limited_Statistic willpower;
-	public Limited_Statistic constitution;
-	public Limited_Statistic dexterity;
-	public Limited_Statistic charisma;
+	public Statistics(){
+		values = new int[Stat.COUNT * 3];
+		for(int i = 0; i < Stat.COUNT; i++){
+			values[MAXIMUM + i] = DEFAULT_MAXIMUM;
+		}
+	}
+
+	public Statistics(Statistics other){
+		values = other.values.clone();
+	}
+
+	// Resets this to another entity's stats without allocating
+	public void copy_from(Statistics other){
+		System.arraycopy(other.values, 0, values, 0, values.length);
+		version++;
+	}
 
+	// health starts full and can't go above its starting value, everything else is capped at 999
 	public Statistics(JSONObject object){
+		this();
 
 		for(Object o : object.keySet()){
-			switch (o.toString()){
-				case "health"       : health = new Limited_Statistic((int)(long)object.get(o.toString()), (int)(long)object.get(o.toString())); break;
-				case "strength"     : strength = new Limited_Statistic((int)(long)object.get(o.toString())); break;
-				case "intelligence" : intelligence = new Limited_Statistic((int)(long)object.get(o.toString())); break;
-				case "willpower"    : willpower = new Limited_Statistic((int)(long)object.get(o.toString())); break;
-				case "constitution" : constitution = new Limited_Statistic((int)(long)object.get(o.toString())); break;
-				case "dexterity"    : dexterity = new Limited_Statistic((int)(long)object.get(o.toString())); break;
-				case "charisma"     : charisma = new Limited_Statistic((int)(long)object.get(o.toString())); break;
+			Stat stat = Stat.find_stat(o.toString());
+			if(stat != null){
+				int value = (int)(long)object.get(o.toString());
+				values[stat.ordinal()] = value;
+				if(stat == Stat.HEALTH)
+					values[MAXIMUM + stat.ordinal()] = value;
 			}
 		}
 	}
 
-	public void update_base_stats(JSONObject object){
+	// Turns a { "stat": amount } object into a vector for apply()
+	public static int[] compile_modifier(JSONObject object){
+		int[] modifier = new int[Stat.COUNT];
 
 		for(Object o : object.keySet()){
-			switch (o.toString()){
-				case "health"       : health.changeValue((int)(long)object.get(o.toString())); break;
-				case "strength"     : strength.changeValue((int)(long)object.get(o.toString())); break;
-				case "intelligence" : intelligence.changeValue((int)(long)object.get(o.toString())); break;
-				case "willpower"    : willpower.changeValue((int)(long)object.get(o.toString())); break;
-				case "constitution" : constitution.changeValue((int)(long)object.get(o.toString())); break;
-				case "dexterity"    : dexterity.changeValue((int)(long)object.get(o.toString())); break;
-				case "charisma"     : charisma.changeValue((int)(long)object.get(o.toString())); break;
-			}
+			Stat stat = Stat.find_stat(o.toString());
+			if(stat != null)
+				modifier[stat.ordinal()] += (int)(long)object.get(o.toString());
 		}
 
-		//System.out.println(this);
+		return modifier;
+	}
+
+	public void update_base_stats(JSONObject object){
+		apply(compile_modifier(object));
 	}
 
-	public Limited_Statistic get_stat(String type){
-		switch (type){
-			case "health"       :   return health;
-			case "strength"     :   return strength;
-			case "intelligence" :   return intelligence;
-			case "willpower"    :   return willpower;
-			case "constitution" :   return constitution;
-			case "dexterity"    :   return dexterity;
-			case "charisma"     :   return charisma;
-			default: return null;
+	// Adds a vector of Stat.COUNT amounts to the current values
+	public void apply(int[] modifier){
+		for(int i = 0; i < Stat.COUNT; i++){
+			values[i] = clamp(values[i] + modifier[i], values[MINIMUM + i], values[MAXIMUM + i]);
 		}
+		version++;
+	}
+
+	public static void regenerate(List<Statistics> all, int[] amounts){
+		for(int i = 0, size = all.size(); i < size; i++){
+			all.get(i).apply(amounts);
+		}
+	}
+
+	public int get(Stat stat){
+		return values[stat.ordinal()];
+	}
+
+	public int minimum(Stat stat){
+		return values[MINIMUM + stat.ordinal()];
+	}
+
+	public int maximum(Stat stat){
+		return values[MAXIMUM + stat.ordinal()];
+	}
+
+	public void set(Stat stat, int value){
+		int i = stat.ordinal();
+		values[i] = clamp(value, values[MINIMUM + i], values[MAXIMUM + i]);
+		version++;
+	}
+
+	// Returns the new value
+	public int change(Stat stat, int amount){
+		int i = stat.ordinal();
+		values[i] = clamp(values[i] + amount, values[MINIMUM + i], values[MAXIMUM + i]);
+		version++;
+		return values[i];
+	}
+
+	public void set_limits(Stat stat, int minimum, int maximum, int current){
+		int i = stat.ordinal();
+		values[MINIMUM + i] = minimum;
+		values[MAXIMUM + i] = maximum;
+		values[i] = current;
+		version++;
+	}
+
+	public boolean is_minimum(Stat stat){
+		int i = stat.ordinal();
+		return values[i] == values[MINIMUM + i];
+	}
+
+	public int getVersion(){
+		return version;
+	}
+
+	private static int clamp(int value, int minimum, int maximum){
+		return value < minimum ? minimum : value > maximum ? maximum : value;
 	}
 
 	@Override
 	public String toString(){
-		return String.format("%s, %s, %s, %s, %s, %s", strength, intelligence, willpower, constitution, dexterity, charisma);
+		return String.format("%d, %d, %d, %d, %d, %d", get(Stat.STRENGTH), get(Stat.INTELLIGENCE), get(Stat.WILLPOWER),
+				get(Stat.CONSTITUTION), get(Stat.DEXTERITY), get(Stat.CHARISMA));
 	}
 }
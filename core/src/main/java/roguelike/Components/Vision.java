@@ -14,22 +14,35 @@ public class Vision implements Component{
 	private Map map;
 	private double range;
 	private double[][] fov;
+	private boolean fov_stale;
+	private int version;    // goes up each time the field of view is worked out again
 
+	// The field of view is only worked out when something asks for it, most monsters never do
 	public Vision(Coord point, Map map, double range){
 		this.location = point;
 		this.map = map;
 		this.range = range;
-		if(map.res == null) {
-			map.res = DungeonUtility.generateResistances(map.pathfinding);
+		this.fov_stale = true;
+	}
+
+	public double[][] getFov(){
+		if(fov_stale){
+			if(map.res == null) {
+				map.res = DungeonUtility.generateResistances(map.pathfinding);
+			}
+			if(fov == null)
+				fov = new double[map.res.length][map.res[0].length];
+			FOV.reuseFOV(map.res, fov, location.x, location.y, range, Radius.CIRCLE);
+			fov_stale = false;
+			version++;
 		}
-		fov = new double[map.res.length][map.res[0].length];
-		FOV.reuseFOV(map.res, this.fov, this.location.x, this.location.y, this.range, Radius.CIRCLE);
+		return fov;
 	}
 
 	public void setLocation(Coord mapPosition) {
 		if (mapPosition.isWithin(map.width(), map.height())) {
 			location = mapPosition;
-			FOV.reuseFOV(map.res, fov, location.x, location.y, range, Radius.CIRCLE);
+			fov_stale = true;
 		}
 	}
 }
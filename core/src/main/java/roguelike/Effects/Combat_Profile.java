@@ -0,0 +1,67 @@
+package roguelike.Effects;
+
+import roguelike.Enums.Damage_Type;
+import roguelike.utilities.Dice;
+import roguelike.utilities.Roll;
+import squidpony.squidmath.RNG;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// What an entity's equipment adds up to in a fight: total resistance to each damage type and every
+// damage roll of a melee attack. Built by Equipment when a slot changes and never modified after.
+public class Combat_Profile {
+
+	private static final Damage[] BASE_DAMAGE = { new Damage("crushing", new Dice(1, 3)) };
+
+	private final int[] resistances;    // by Damage_Type ordinal
+	private final Damage[] damages;
+
+	public Combat_Profile(int[] resistances, Damage[] damages){
+		this.resistances = resistances;
+		this.damages = damages;
+	}
+
+	// right hand then left when dual wielding, bare hands if neither holds a weapon; either may be null
+	public static Damage[] melee_damages(List<Damage> right, List<Damage> left){
+		ArrayList<Damage> damages = new ArrayList<>();
+		if(right != null)
+			damages.addAll(right);
+		if(left != null)
+			damages.addAll(left);
+
+		return damages.isEmpty() ? BASE_DAMAGE : damages.toArray(new Damage[0]);
+	}
+
+	public int resistance(Damage_Type type){
+		return resistances[type.ordinal()];
+	}
+
+	public int damage_count(){
+		return damages.length;
+	}
+
+	public Damage damage(int index){
+		return damages[index];
+	}
+
+	// Rolls every damage of this profile's attack against the target: each picks one of its types,
+	// loses the target's resistance to it, and the running total never drops below zero.
+	public int resolve_attack(Combat_Profile target){
+		return resolve_attack(target, Roll.rng);
+	}
+
+	public int resolve_attack(Combat_Profile target, RNG rng){
+		int total = 0;
+		for(int i = 0; i < damages.length; i++){
+			Damage damage = damages[i];
+			int[] types = Damage_Type.TYPES_BY_MASK[damage.types];
+			int type = types.length == 1 ? types[0] : types[rng.nextInt(types.length)];
+			total += damage.dice.roll(rng) - target.resistances[type];
+
+			if(total < 0)
+				total = 0;
+		}
+		return total;
+	}
+}
@@ -1,10 +1,12 @@
 package roguelike.Effects;
 
 import org.json.simple.JSONObject;
+import roguelike.Enums.Damage_Type;
 import roguelike.utilities.Dice;
 
 public class Damage {
 	public String type;
+	public int types;       // Damage_Type bits parsed from type, one of them is picked per hit
 	public Dice dice;
 
 	public Damage(JSONObject object){
@@ -14,10 +16,12 @@ public class Damage {
 				case "dice": dice = new Dice((JSONObject)object.get(o.toString())); break;
 			}
 		}
+		types = Damage_Type.parse_mask(type);
 	}
 
 	public Damage(String type, Dice dice){
 		this.type = type;
+		this.types = Damage_Type.parse_mask(type);
 		this.dice = dice;
 	}
 
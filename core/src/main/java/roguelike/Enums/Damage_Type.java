@@ -0,0 +1,53 @@
+package roguelike.Enums;
+
+public enum Damage_Type {
+	PIERCING("piercing"),
+	SLASHING("slashing"),
+	CRUSHING("crushing");
+
+	public final String key;    // as written in the data files
+	public final int bit;
+
+	Damage_Type(String key){
+		this.key = key;
+		this.bit = 1 << ordinal();
+	}
+
+	public static Damage_Type find_type(String key){
+
+		switch (key){
+			case "piercing" :   return PIERCING;
+			case "slashing" :   return SLASHING;
+			case "crushing" :   return CRUSHING;
+			default: return null;
+		}
+	}
+
+	// "piercing/slashing" -> PIERCING.bit | SLASHING.bit
+	public static int parse_mask(String types){
+		int mask = 0;
+		for(String key : types.split("/")){
+			Damage_Type type = find_type(key.trim());
+			if(type == null)
+				throw new IllegalArgumentException("Unknown damage type " + key + " in " + types);
+			mask |= type.bit;
+		}
+		return mask;
+	}
+
+	public static final Damage_Type[] ALL = values();
+	public static final int COUNT = ALL.length;
+
+	// For every mask, the ordinals of the types in it, so an attack can pick one without splitting strings
+	public static final int[][] TYPES_BY_MASK = new int[1 << COUNT][];
+	static {
+		for(int mask = 0; mask < TYPES_BY_MASK.length; mask++){
+			int[] types = new int[Integer.bitCount(mask)];
+			for(int i = 0, t = 0; i < COUNT; i++){
+				if((mask & (1 << i)) != 0)
+					types[t++] = i;
+			}
+			TYPES_BY_MASK[mask] = types;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package roguelike.Enums;
+
+public enum Data_File {
+	TILES("tiles.json"),
+	RACES("races.json"),
+	ITEMS("items.json"),
+	ITEM_GROUPS("item_groups.json"),
+	ENTITY_MODIFIERS("entity_modifiers.json"),
+	ENTITIES("entities.json"),
+	ENTITY_GROUPS("entity_groups.json"),
+	LOOT("loot.json"),
+	SURFACE("surface.txt");
+
+	public final String file_name;
+
+	Data_File(String file_name){
+		this.file_name = file_name;
+	}
+
+	public static final Data_File[] ALL = values();
+}
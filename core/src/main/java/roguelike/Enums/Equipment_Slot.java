@@ -8,6 +8,12 @@ public enum Equipment_Slot {
 	LEFT_HAND,
 	RIGHT_HAND;
 
+	public final int bit;
+
+	Equipment_Slot(){
+		this.bit = 1 << ordinal();
+	}
+
 	public static Equipment_Slot find_slot(String name){
 
 		switch (name){
@@ -38,4 +44,5 @@ public enum Equipment_Slot {
 	}
 	
 	public static final Equipment_Slot[] ALL = values();
+	public static final int COUNT = ALL.length;
 }
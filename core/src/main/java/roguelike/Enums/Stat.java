@@ -0,0 +1,36 @@
+package roguelike.Enums;
+
+public enum Stat {
+	HEALTH("health", "HP"),
+	STRENGTH("strength", "Str"),
+	INTELLIGENCE("intelligence", "Int"),
+	WILLPOWER("willpower", "Will"),
+	CONSTITUTION("constitution", "Con"),
+	DEXTERITY("dexterity", "Dex"),
+	CHARISMA("charisma", "Char");
+
+	public final String key;          // as written in the data files
+	public final String short_name;
+
+	Stat(String key, String short_name){
+		this.key = key;
+		this.short_name = short_name;
+	}
+
+	public static Stat find_stat(String key){
+
+		switch (key){
+			case "health"       :   return HEALTH;
+			case "strength"     :   return STRENGTH;
+			case "intelligence" :   return INTELLIGENCE;
+			case "willpower"    :   return WILLPOWER;
+			case "constitution" :   return CONSTITUTION;
+			case "dexterity"    :   return DEXTERITY;
+			case "charisma"     :   return CHARISMA;
+			default: return null;
+		}
+	}
+
+	public static final Stat[] ALL = values();
+	public static final int COUNT = ALL.length;
+}
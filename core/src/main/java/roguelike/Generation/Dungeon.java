@@ -1,7 +1,12 @@
 package roguelike.Generation;
 
+import squidpony.squidmath.LinnormRNG;
+
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
+import static roguelike.Generation.World.entityManager;
 import static roguelike.engine.Game.*;
 
 public class Dungeon {
@@ -9,38 +14,74 @@ public class Dungeon {
 	public String name;
 	public ArrayList<Map> levels;
 	public int size;
+	public long seed;
+
+	// How many built levels stay in memory; the least recently visited ones past this are written
+	// out by Level_Store and read back when the player returns.
+	public int resident_limit;
+	private LinkedHashMap<Integer, Map> resident;
 
-	public Dungeon(String name, int size){
+	public Dungeon(String name, int size, long world_seed){
+		this(name, size, world_seed, 4);
+	}
+
+	public Dungeon(String name, int size, long world_seed, int resident_limit){
 		this.name = name;
 		levels = new ArrayList<>();
 		this.size = size;
+		this.seed = new LinnormRNG(world_seed ^ (long)name.hashCode() << 32).nextLong();
+		this.resident_limit = resident_limit;
+		resident = new LinkedHashMap<>(16, 0.75f, true);
+		Level_Store.directory(this).deleteDirectory();
+	}
+
+	// Deletes the saved levels, for when the world this dungeon belongs to is thrown away
+	public void discard(){
+		resident.clear();
+		Level_Store.directory(this).deleteDirectory();
+	}
+
+	// Every floor is built from its own seed, so the same world seed, dungeon name and floor index
+	// always produce the same layout no matter which floors were generated before it.
+	public long level_seed(int floor){
+		return new LinnormRNG(seed + floor * 0x9E3779B97F4A7C15L).nextLong();
 	}
 
 	public void add_level(int index, Map level){
 		level.isBuilt = true;
 		levels.add(index, level);
+		touch(index, level);
 	}
 
 
 
 	public void build_basic_dungeon(){
+		// levels are created on first visit, see getLevel
 		for(int i = 1; i < size; i++){
-			if(i < size - 1) {
-				Map map = new Map(gridWidth, gridHeight - statistics_height);
-				levels.add(map);
+			levels.add(null);
+		}
+	}
 
-			}
-			else{
-				Map map = new Map(gridWidth, gridHeight - statistics_height);
-				levels.add(map);
-			}
+	// Throws away a generated floor; the next getLevel(i) rebuilds it identically from its seed.
+	public void discard_level(int i){
+		if(i > 0 && i < levels.size()) {
+			levels.set(i, null);
+			resident.remove(i);
+			Level_Store.file(this, i).delete();
 		}
 	}
 
 	public Map getLevel(int i){
 
-		if(levels.get(i).isBuilt)
+		if(levels.get(i) == null){
+			Map stored = Level_Store.exists(this, i) ? Level_Store.load(this, i) : null;
+			levels.set(i, stored != null ? stored : new Map(gridWidth, gridHeight - statistics_height, level_seed(i)));
+		}
+
+		if(levels.get(i).isBuilt){
+			touch(i, levels.get(i));
 			return levels.get(i);
+		}
 		else if(i < size - 1){
 			levels.get(i).buildStandardLevel();
 			Exit exit = new Exit(this, levels.get(i).stairs_up, i - 1, "stairs - down");
@@ -48,6 +89,7 @@ public class Dungeon {
 			levels.get(i).exits.add(exit);
 			levels.get(i).exits.add(exit2);
 
+			touch(i, levels.get(i));
 			return levels.get(i);
 		}
 		else{
@@ -55,7 +97,25 @@ public class Dungeon {
 			Exit exit = new Exit(this, levels.get(i).stairs_up, i - 1, "stairs - down");
 			levels.get(i).exits.add(exit);
 
+			touch(i, levels.get(i));
 			return levels.get(i);
 		}
 	}
+
+	private void touch(int i, Map level){
+		resident.put(i, level);
+
+		Iterator<java.util.Map.Entry<Integer, Map>> iterator = resident.entrySet().iterator();
+		while(resident.size() > resident_limit && iterator.hasNext()){
+			java.util.Map.Entry<Integer, Map> eldest = iterator.next();
+			Map map = eldest.getValue();
+			// level 0 is the surface, read from surface.txt rather than built from a seed, so it stays
+			if(eldest.getKey() == i || eldest.getKey() == 0 || map.entities.contains(entityManager.player))
+				continue;
+			if(Level_Store.save(this, eldest.getKey(), map)){
+				levels.set(eldest.getKey(), null);
+				iterator.remove();
+			}
+		}
+	}
 }
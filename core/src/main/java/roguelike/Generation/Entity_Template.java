@@ -0,0 +1,110 @@
+package roguelike.Generation;
+
+import com.badlogic.gdx.graphics.Color;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import roguelike.Components.Details;
+import roguelike.Components.Sprite;
+import roguelike.Components.Statistics;
+import roguelike.Effects.Combat_Profile;
+import roguelike.Effects.Damage;
+import roguelike.Enums.Damage_Type;
+import roguelike.Enums.Equipment_Slot;
+import squidpony.squidmath.RNG;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+
+// A race with its modifiers already applied, built once by Factory for each entry of entities.json.
+// The modifiers go through the same Statistics/Details code as before, so a spawned entity ends up
+// exactly where the old per-spawn merge left it; spawning only copies the results.
+public class Entity_Template {
+	public final int id;
+	public final String name;
+
+	final Details details;
+	final Statistics statistics;
+	final char glyph;
+	final Color color;
+	final int speed;                    // 0 if the race has no speed
+	final boolean ai;
+	final EnumMap<Equipment_Slot, Weighted_Table<Item_Template>> equipment;  // null if the race has no equipment
+	final Weighted_Table<Item_Template> loot;                               // rolled once into the inventory, may be null
+
+	Entity_Template(int id, String name, JSONObject base, JSONArray modifiers, String loot, JSONObject entity_modifiers,
+	                java.util.Map<String, Weighted_Table<Item_Template>> items){
+		this.id = id;
+		this.name = name;
+
+		details = new Details((JSONObject)base.get("details"));
+		statistics = new Statistics((JSONObject)base.get("statistics"));
+		Sprite sprite = new Sprite((JSONObject)base.get("sprite"));
+		glyph = sprite.character;
+		color = sprite.foregroundColor;
+		speed = base.containsKey("speed") ? (int)(long)base.get("speed") : 0;
+		ai = base.containsKey("ai");
+
+		JSONObject gear = (JSONObject)base.get("equipment");
+		equipment = gear != null ? new EnumMap<Equipment_Slot, Weighted_Table<Item_Template>>(Equipment_Slot.class) : null;
+		if(gear != null){
+			for(Object o : gear.keySet()){
+				Equipment_Slot slot = Equipment_Slot.find_slot(o.toString());
+				Weighted_Table<Item_Template> choices = items.get((String)gear.get(o));
+				if(slot == null || choices == null)
+					throw new IllegalArgumentException(name + " has unknown equipment " + o + ": " + gear.get(o));
+				equipment.put(slot, choices);
+			}
+		}
+
+		this.loot = loot != null ? items.get(loot) : null;
+		if(loot != null && this.loot == null)
+			throw new IllegalArgumentException(name + " has unknown loot " + loot);
+
+		if(modifiers != null){
+			for(Object addition : modifiers){
+				JSONObject modifier = (JSONObject)entity_modifiers.get(addition);
+				if(modifier == null)
+					throw new IllegalArgumentException(name + " has unknown modifier " + addition);
+				if(modifier.containsKey("statistics"))
+					statistics.update_base_stats((JSONObject)modifier.get("statistics"));
+				if(modifier.containsKey("name modifier"))
+					details.update_name((JSONObject)modifier.get("name modifier"));
+			}
+		}
+	}
+
+	public int speed(){
+		return speed;
+	}
+
+	public void reset_statistics(Statistics into){
+		into.copy_from(statistics);
+	}
+
+	// Picks equipment the way spawning does and works out what it adds up to, without creating entities
+	public Combat_Profile roll_profile(RNG rng){
+		int[] resistances = new int[Damage_Type.COUNT];
+		List<Damage> right = null;
+		List<Damage> left = null;
+
+		if(equipment != null){
+			for(java.util.Map.Entry<Equipment_Slot, Weighted_Table<Item_Template>> slot : equipment.entrySet()){
+				Item_Template item = slot.getValue().sample(rng);
+				if(item == null)
+					continue;
+				if(item.armor != null){
+					for(int i = 0; i < resistances.length; i++){
+						resistances[i] += item.armor[i];
+					}
+				}
+				if(item.damages != null && slot.getKey() == Equipment_Slot.RIGHT_HAND)
+					right = Arrays.asList(item.damages);
+				else if(item.damages != null && slot.getKey() == Equipment_Slot.LEFT_HAND)
+					left = Arrays.asList(item.damages);
+			}
+		}
+
+		return new Combat_Profile(resistances, Combat_Profile.melee_damages(right, left));
+	}
+}
@@ -1,17 +1,17 @@
 package roguelike.Generation;
 
-import com.badlogic.gdx.Gdx;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import roguelike.Components.*;
+import roguelike.Enums.Data_File;
 import roguelike.Enums.Equipment_Slot;
 import roguelike.Enums.Race;
+import roguelike.engine.Asset_Registry;
 import roguelike.engine.Game;
 import roguelike.utilities.Roll;
 import squidpony.squidmath.Coord;
 
-import java.util.PriorityQueue;
+import java.util.*;
 
 import static roguelike.Generation.World.entityManager;
 
@@ -21,33 +21,79 @@ public class Factory {
 
 	public Game game;
 
-	private JSONObject races;
-	private JSONObject items;
-	private JSONObject item_groups;
-	private JSONObject entity_modifiers;
-	private JSONObject entities;
-	private JSONObject entity_groups;
-
-	public PriorityQueue<Integer> death_queue;
+	// templates by id, and tables by name, "group:<name>" or "loot:<name>"; a plain name is a table of one
+	private final ArrayList<Entity_Template> entity_templates;
+	private final ArrayList<Item_Template> item_templates;
+	private final HashMap<String, Weighted_Table<Entity_Template>> entity_tables;
+	private final HashMap<String, Weighted_Table<Item_Template>> item_tables;
+	private final Entity_Template player_template;
 
 	private Factory() {
-		JSONParser parser = new JSONParser();
-		death_queue = new PriorityQueue<>();
-		try {
-			races = (JSONObject) parser.parse(Gdx.files.internal("races.json").reader());
-			items = (JSONObject) parser.parse(Gdx.files.internal("items.json").reader());
-			item_groups = (JSONObject) parser.parse(Gdx.files.internal("item_groups.json").reader());
-			entity_modifiers = (JSONObject) parser.parse(Gdx.files.internal("entity_modifiers.json").reader());
-			entities = (JSONObject)parser.parse(Gdx.files.internal("entities.json").reader());
-			entity_groups = (JSONObject)parser.parse(Gdx.files.internal("entity_groups.json").reader());
+		Asset_Registry assets = Asset_Registry.getInstance();
+
+		item_templates = new ArrayList<>();
+		item_tables = new HashMap<>();
+		JSONObject items = assets.data(Data_File.ITEMS);
+		for(Object name : items.keySet()){
+			Item_Template template = new Item_Template(item_templates.size(), (String)name, (JSONObject)items.get(name));
+			item_templates.add(template);
+			item_tables.put(template.name, new Weighted_Table<>(template));
 		}
-		catch (Exception e)
-		{
-			e.printStackTrace();
+		HashMap<String, JSONObject> item_sources = new HashMap<>();
+		item_sources.put("group:", assets.data(Data_File.ITEM_GROUPS));
+		item_sources.put("loot:", assets.data(Data_File.LOOT));
+		compile_tables(item_tables, item_sources);
+
+		JSONObject races = assets.data(Data_File.RACES);
+		JSONObject entity_modifiers = assets.data(Data_File.ENTITY_MODIFIERS);
+		entity_templates = new ArrayList<>();
+		entity_tables = new HashMap<>();
+		JSONObject entities = assets.data(Data_File.ENTITIES);
+		for(Object name : entities.keySet()){
+			JSONObject entity_type = (JSONObject)entities.get(name);
+			Entity_Template template = new Entity_Template(entity_templates.size(), (String)name, (JSONObject)races.get(entity_type.get("base")),
+					(JSONArray)entity_type.get("modifier"), (String)entity_type.get("loot"), entity_modifiers, item_tables);
+			entity_templates.add(template);
+			entity_tables.put(template.name, new Weighted_Table<>(template));
 		}
+		HashMap<String, JSONObject> entity_sources = new HashMap<>();
+		entity_sources.put("group:", assets.data(Data_File.ENTITY_GROUPS));
+		compile_tables(entity_tables, entity_sources);
+
+		player_template = new Entity_Template(-1, "player", (JSONObject)races.get("human"), null, null, entity_modifiers, item_tables);
 	}
 
-	public static Factory getInstance() {
+	// Compiles every table of every source, each source keyed by the prefix that refers to it
+	private static <T> void compile_tables(HashMap<String, Weighted_Table<T>> tables, HashMap<String, JSONObject> sources){
+		HashSet<String> compiling = new HashSet<>();
+		for(java.util.Map.Entry<String, JSONObject> source : sources.entrySet()){
+			for(Object name : source.getValue().keySet()){
+				find_table(source.getKey() + name, tables, sources, compiling);
+			}
+		}
+	}
+
+	private static <T> Weighted_Table<T> find_table(String name, HashMap<String, Weighted_Table<T>> tables,
+	                                                HashMap<String, JSONObject> sources, HashSet<String> compiling){
+		Weighted_Table<T> table = tables.get(name);
+		if(table != null)
+			return table;
+
+		int split = name.indexOf(':') + 1;
+		JSONObject source = sources.get(name.substring(0, split));
+		JSONArray entries = source != null ? (JSONArray)source.get(name.substring(split)) : null;
+		if(entries == null)
+			throw new IllegalArgumentException("Nothing named " + name);
+		if(!compiling.add(name))
+			throw new IllegalArgumentException(name + " refers back to itself");
+
+		table = Weighted_Table.compile(name, entries, reference -> find_table(reference, tables, sources, compiling));
+		compiling.remove(name);
+		tables.put(name, table);
+		return table;
+	}
+
+	public static synchronized Factory getInstance() {
 		if(factory == null)
 			factory = new Factory();
 
@@ -66,10 +112,9 @@ public class Factory {
 		entityManager.addComponent(player, new Position(current_map));
 		entityManager.gc(player, Position.class).location = starting_location;
 		entityManager.addComponent(player, new Vision(starting_location, current_map, 5.0));
-		JSONObject human = (JSONObject) races.get("human");
-		entityManager.addComponent(player, new Sprite((JSONObject)human.get("sprite")));
-		entityManager.addComponent(player, new Statistics((JSONObject)human.get("statistics")));
-		entityManager.addComponent(player, new Details((JSONObject)human.get("details")));
+		entityManager.addComponent(player, new Sprite(player_template.glyph, player_template.color));
+		entityManager.addComponent(player, new Statistics(player_template.statistics));
+		entityManager.addComponent(player, new Details(player_template.details));
 		entityManager.gc(player, Details.class).isPlayer = true;
 		entityManager.gc(player, Details.class).race = Race.PLAYER;
 		entityManager.addComponent(player, new Active());
@@ -84,105 +129,153 @@ public class Factory {
 
 
 
+		current_map.entities.add(player);
+
+		ArrayList<Coord> guards = new ArrayList<>(5);
 		for(int i = 0; i < 5; i++){
-			Integer new_enemy = create_new_entity("group:rockthrowers");
-			entityManager.gc(new_enemy, Position.class).map = current_map;
-			entityManager.gc(new_enemy, Position.class).location = Coord.get(20 + i + 1, 20 );
-			entityManager.addComponent(new_enemy, new Vision(Coord.get(20 + i + 1, 20), current_map, 5.0));
-			current_map.entities.add(new_enemy);
+			guards.add(Coord.get(20 + i + 1, 20));
 		}
-
-
-
-
-
-		current_map.entities.add(player);
+		spawn_group("group:rockthrowers", guards, current_map);
 	}
 
 	public Integer create_new_entity(String name){
-		Integer entity = entityManager.createEntity();
-
-		JSONObject entity_type;
-		JSONObject base_entity = new JSONObject();
-		JSONArray additions = new JSONArray();
-
-		if(name.contains("group")){
-			String[] split = name.split(":");
-			JSONArray entity_array = (JSONArray) entity_groups.get(split[1]);
-			entity_type = (JSONObject) entities.get(entity_array.get(Roll.rand(0, entity_array.size() - 1)));
-		}
-		else {
-			entity_type = (JSONObject) entities.get(name);
-		}
+		Entity_Template template = entity_table(name).sample();
+		return template != null ? create_new_entity(template) : null;
+	}
 
-		for(Object o : entity_type.keySet()){
-			switch (o.toString()){
-				case "base":        base_entity = (JSONObject)races.get(entity_type.get("base")); break;
-				case "modifier":    additions = (JSONArray)(entity_type.get("modifier")); break;
-			}
-		}
+	public Integer create_new_entity(Entity_Template template){
+		Integer entity = entityManager.createEntity();
 
 		entityManager.addComponent(entity, new Position());
 		entityManager.addComponent(entity, new Inventory());
 		entityManager.addComponent(entity, new Action_Component());
 		entityManager.addComponent(entity, new Active());
-
-		for(Object o : base_entity.keySet()){
-			switch (o.toString()){
-				case "sprite": entityManager.addComponent(entity, new Sprite((JSONObject)base_entity.get(o.toString()))); break;
-				case "statistics": entityManager.addComponent(entity, new Statistics((JSONObject)base_entity.get(o.toString()))); break;
-				case "details": entityManager.addComponent(entity, new Details((JSONObject)base_entity.get(o.toString()))); break;
-				case "speed": entityManager.addComponent(entity, new Energy((int)(long)base_entity.get(o.toString()))); break;
-				case "ai": entityManager.addComponent(entity, new AI()); break;
-				case "equipment": entityManager.addComponent(entity, new Equipment((JSONObject)base_entity.get(o.toString()))); break;
+		entityManager.addComponent(entity, new Sprite(template.glyph, template.color));
+		entityManager.addComponent(entity, new Statistics(template.statistics));
+		entityManager.addComponent(entity, new Details(template.details));
+		if(template.speed != 0)
+			entityManager.addComponent(entity, new Energy(template.speed));
+		if(template.ai)
+			entityManager.addComponent(entity, new AI());
+
+		if(template.equipment != null){
+			Equipment equipment = new Equipment();
+			for(java.util.Map.Entry<Equipment_Slot, Weighted_Table<Item_Template>> slot : template.equipment.entrySet()){
+				Item_Template item = slot.getValue().sample();
+				if(item != null)
+					equipment.put(slot.getKey(), create_new_item(item));
 			}
+			entityManager.addComponent(entity, equipment);
 		}
-
-		for (Object addition : additions) {
-			JSONObject temp = (JSONObject) entity_modifiers.get(addition);
-			for (Object o : temp.keySet()) {
-				switch (o.toString()) {
-					case "statistics":
-						entityManager.gc(entity, Statistics.class).update_base_stats((JSONObject) temp.get(o.toString()));
-						break;
-					case "name modifier":
-						entityManager.gc(entity, Details.class).update_name((JSONObject) temp.get(o.toString()));
-						break;
-				}
-			}
+		if(template.loot != null){
+			Item_Template drop = template.loot.sample();
+			if(drop != null)
+				entityManager.gc(entity, Inventory.class).add_item(create_new_item(drop));
 		}
 
 		return entity;
 	}
 
-	public Integer create_new_item(String name){
-		Integer item = entityManager.createEntity();
-
-		JSONObject item_properties;
+	// Spawns count entities from the named entity or group onto free cells of the map, fewer if the map
+	// runs out of room.
+	public ArrayList<Integer> spawn_group(String name, int count, Map map){
+		ArrayList<Coord> cells = map.free_cells();
+		count = Math.min(count, cells.size());
+		for(int i = 0; i < count; i++){
+			// partial shuffle, each pick is swapped out of the part still to choose from
+			int pick = Roll.rand(i, cells.size() - 1);
+			Coord location = cells.get(pick);
+			cells.set(pick, cells.get(i));
+			cells.set(i, location);
+		}
+		return spawn_group(name, cells.subList(0, count), map);
+	}
 
-		if(name.contains("group")){
-			String[] split = name.split(":");
-			JSONArray item_array = (JSONArray) item_groups.get(split[1]);
-			item_properties = (JSONObject) items.get(item_array.get(Roll.rand(0, item_array.size() - 1)));
+	// Spawns one entity from the named entity or group on each of the given cells. A roll of nothing
+	// leaves its cell empty. Stores are sized for the whole batch up front and vision is left to be
+	// worked out the first time it's looked at.
+	public ArrayList<Integer> spawn_group(String name, List<Coord> locations, Map map){
+		Weighted_Table<Entity_Template> choices = entity_table(name);
+		int count = locations.size();
+
+		entityManager.reserve(count, Position.class, Inventory.class, Action_Component.class, Active.class, Sprite.class,
+				Statistics.class, Details.class, Energy.class, AI.class, Equipment.class, Vision.class);
+		entityManager.reserve(count * (Equipment_Slot.ALL.length + 1), Details.class, Equippable.class, Armor.class, Offensive_Component.class);
+
+		ArrayList<Integer> spawned = new ArrayList<>(count);
+		for(Coord location : locations){
+			Entity_Template template = choices.sample();
+			if(template == null)
+				continue;
+			Integer entity = create_new_entity(template);
+			Position position = entityManager.gc(entity, Position.class);
+			position.map = map;
+			position.location = location;
+			entityManager.addComponent(entity, new Vision(location, map, 5.0));
+			spawned.add(entity);
 		}
-		else {
-			item_properties = (JSONObject) items.get(name);
+
+		map.entities.addAll(spawned);
+		return spawned;
+	}
+
+	public Integer create_new_item(String name){
+		Item_Template template = item_table(name).sample();
+		return template != null ? create_new_item(template) : null;
+	}
+
+	// Rolls count drops from an item or loot table into out, as item template ids, or -1 for nothing
+	public void roll_items(String table_name, int[] out, int offset, int count){
+		Weighted_Table<Item_Template> table = item_table(table_name);
+		table.sample_many(out, offset, count, Roll.rng);
+		for(int i = offset, end = offset + count; i < end; i++){
+			Item_Template template = table.outcome(out[i]);
+			out[i] = template != null ? template.id : -1;
 		}
+	}
 
+	public Integer create_new_item(Item_Template template){
+		Integer item = entityManager.createEntity();
 
-		for(Object o : item_properties.keySet()) {
-			switch (o.toString()) {
-				case "details":
-					entityManager.addComponent(item, new Details((JSONObject)item_properties.get(o))); break;
-				case "equippable":
-					entityManager.addComponent(item, new Equippable((JSONObject)item_properties.get(o))); break;
-				case "defenses":
-					entityManager.addComponent(item, new Armor((JSONObject)item_properties.get(o))); break;
-				case "attack":
-					entityManager.addComponent(item, new Offensive_Component((JSONObject)item_properties.get(o))); break;
+		if(template.details != null){
+			Details details = new Details(template.details);
+			details.template = template.id;
+			entityManager.addComponent(item, details);
+		}
+		if(template.slots != null){
+			Equippable equippable = new Equippable();
+			for(Equipment_Slot slot : template.slots){
+				equippable.add_slot(slot);
 			}
+			entityManager.addComponent(item, equippable);
 		}
+		if(template.armor != null)
+			entityManager.addComponent(item, new Armor(template.armor.clone()));
+		if(template.damages != null)
+			entityManager.addComponent(item, new Offensive_Component(new ArrayList<>(Arrays.asList(template.damages))));
 
 		return item;
 	}
+
+	public Entity_Template entity_template(int id){
+		return entity_templates.get(id);
+	}
+
+	public Item_Template item_template(int id){
+		return item_templates.get(id);
+	}
+
+	public Weighted_Table<Entity_Template> entity_table(String name){
+		Weighted_Table<Entity_Template> table = entity_tables.get(name);
+		if(table == null)
+			throw new IllegalArgumentException("No entity or entity group named " + name);
+		return table;
+	}
+
+	public Weighted_Table<Item_Template> item_table(String name){
+		Weighted_Table<Item_Template> table = item_tables.get(name);
+		if(table == null)
+			throw new IllegalArgumentException("No item, item group or loot table named " + name);
+		return table;
+	}
 }
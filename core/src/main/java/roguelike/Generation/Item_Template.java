@@ -0,0 +1,47 @@
+package roguelike.Generation;
+
+import org.json.simple.JSONObject;
+import roguelike.Components.Armor;
+import roguelike.Components.Details;
+import roguelike.Components.Equippable;
+import roguelike.Effects.Damage;
+import roguelike.Enums.Equipment_Slot;
+
+import java.util.ArrayList;
+
+// An entry of items.json resolved once by Factory. Spawning an item copies these values into new
+// components, nothing here is handed out directly except the Damage objects, which are never changed.
+public class Item_Template {
+	public final int id;
+	public final String name;
+
+	final Details details;
+	final Equipment_Slot[] slots;   // null if the item can't be equipped
+	final int[] armor;              // by Damage_Type ordinal, null if it gives no defense
+	final Damage[] damages;         // null if it can't attack
+
+	Item_Template(int id, String name, JSONObject properties){
+		this.id = id;
+		this.name = name;
+
+		JSONObject details = (JSONObject)properties.get("details");
+		this.details = details != null ? new Details(details) : null;
+
+		JSONObject equippable = (JSONObject)properties.get("equippable");
+		this.slots = equippable != null ? new Equippable(equippable).slots.toArray(new Equipment_Slot[0]) : null;
+
+		JSONObject defenses = (JSONObject)properties.get("defenses");
+		this.armor = defenses != null ? new Armor(defenses).resistances : null;
+
+		JSONObject attack = (JSONObject)properties.get("attack");
+		if(attack != null){
+			ArrayList<Damage> damages = new ArrayList<>();
+			for(Object o : attack.keySet()){
+				damages.add(new Damage((JSONObject)attack.get(o)));
+			}
+			this.damages = damages.toArray(new Damage[0]);
+		}
+		else
+			this.damages = null;
+	}
+}
@@ -0,0 +1,478 @@
+package roguelike.Generation;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import roguelike.Components.*;
+import roguelike.Effects.Damage;
+import roguelike.Enums.AI_MODE;
+import roguelike.Enums.Damage_Type;
+import roguelike.Enums.Equipment_Slot;
+import roguelike.Enums.Hostility;
+import roguelike.Enums.Race;
+import roguelike.Enums.Stat;
+import roguelike.engine.Asset_Registry;
+import roguelike.utilities.Dice;
+import squidpony.squidgrid.mapping.DungeonUtility;
+import squidpony.squidmath.Coord;
+import squidpony.squidmath.IntVLA;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static roguelike.Generation.World.entityManager;
+
+// Writes levels that Dungeon evicts from memory to a small deflated binary file, and reads them back.
+// Tiles are stored as one byte each into a palette of tile names, followed by the level's exits and
+// every entity standing on it (except the player), with their equipped and carried items inline.
+public class Level_Store {
+
+	public static String save_directory = "saves";
+
+	private static final int MAGIC = 0x534F454C; // "SOEL"
+	private static final int VERSION = 3;
+
+	private static final int POSITION       = 1;
+	private static final int SPRITE         = 1 << 1;
+	private static final int STATISTICS     = 1 << 2;
+	private static final int DETAILS        = 1 << 3;
+	private static final int ENERGY         = 1 << 4;
+	private static final int AI_FLAG        = 1 << 5;
+	private static final int EQUIPMENT      = 1 << 6;
+	private static final int INVENTORY      = 1 << 7;
+	private static final int VISION         = 1 << 8;
+	private static final int ACTIVE         = 1 << 9;
+	private static final int ACTION         = 1 << 10;
+	private static final int EQUIPPABLE     = 1 << 11;
+	private static final int ARMOR          = 1 << 12;
+	private static final int OFFENSIVE      = 1 << 13;
+
+	private Level_Store(){}
+
+	public static FileHandle directory(Dungeon dungeon){
+		return Gdx.files.local(save_directory + "/" + Long.toHexString(dungeon.seed));
+	}
+
+	public static FileHandle file(Dungeon dungeon, int floor){
+		return directory(dungeon).child(dungeon.name.replace(' ', '_') + "_" + floor + ".lvl");
+	}
+
+	public static boolean exists(Dungeon dungeon, int floor){
+		return file(dungeon, floor).exists();
+	}
+
+	// Saves the level and removes its entities from the entity manager. Returns false, leaving the level
+	// and its entities untouched, if the file could not be written.
+	public static boolean save(Dungeon dungeon, int floor, Map map){
+		ArrayList<Integer> stored = new ArrayList<>();
+		for(Integer entity : map.entities){
+			if(!entity.equals(entityManager.player))
+				stored.add(entity);
+		}
+
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new DeflaterOutputStream(file(dungeon, floor).write(false))))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(map.seed);
+			write_tiles(out, map);
+			write_coord(out, map.stairs_up);
+			write_coord(out, map.stairs_down);
+
+			out.writeShort(map.exits.size());
+			for(Exit exit : map.exits){
+				write_coord(out, exit.exit_location);
+				out.writeShort(exit.floor);
+				out.writeUTF(exit.put_at);
+			}
+
+			out.writeInt(stored.size());
+			for(Integer entity : stored){
+				write_entity(out, entity);
+			}
+			write_targets(out, stored);
+		} catch (Exception e){
+			e.printStackTrace();
+			return false;
+		}
+
+		for(Integer entity : stored){
+			kill_with_items(entity);
+		}
+		map.entities.removeAll(stored);
+		return true;
+	}
+
+	public static Map load(Dungeon dungeon, int floor){
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new InflaterInputStream(file(dungeon, floor).read())))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION)
+				return null;
+			long seed = in.readLong();
+			Map map = read_tiles(in);
+			map.seed = seed;
+			map.stairs_up = read_coord(in);
+			map.stairs_down = read_coord(in);
+
+			int exits = in.readShort();
+			for(int i = 0; i < exits; i++){
+				Coord location = read_coord(in);
+				int to = in.readShort();
+				map.exits.add(new Exit(dungeon, location, to, in.readUTF()));
+			}
+
+			int count = in.readInt();
+			ArrayList<Integer> loaded = new ArrayList<>(count);
+			for(int i = 0; i < count; i++){
+				loaded.add(read_entity(in, map));
+			}
+			map.entities.addAll(loaded);
+			read_targets(in, loaded);
+			map.isBuilt = true;
+			return map;
+		} catch (Exception e){
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private static void write_tiles(DataOutputStream out, Map map) throws IOException {
+		HashMap<String, Integer> palette = new HashMap<>();
+		ArrayList<String> names = new ArrayList<>();
+		int width = map.getWidth(), height = map.getHeight();
+		byte[] cells = new byte[width * height];
+		for(int x = 0; x < width; x++){
+			for(int y = 0; y < height; y++){
+				String name = map.getTileAt(x, y).name;
+				Integer index = palette.get(name);
+				if(index == null){
+					index = names.size();
+					palette.put(name, index);
+					names.add(name);
+				}
+				cells[x * height + y] = (byte)(int)index;
+			}
+		}
+
+		out.writeShort(width);
+		out.writeShort(height);
+		out.writeByte(names.size());
+		for(String name : names){
+			out.writeUTF(name);
+		}
+		out.write(cells);
+		for(int x = 0; x < width; x++){
+			for(int y = 0; y < height; y++){
+				out.writeByte(map.pathfinding[x][y]);
+			}
+		}
+	}
+
+	private static Map read_tiles(DataInputStream in) throws Exception {
+		int width = in.readShort(), height = in.readShort();
+		String[] names = new String[in.readUnsignedByte()];
+		for(int i = 0; i < names.length; i++){
+			names[i] = in.readUTF();
+		}
+		Tile[] palette = new Tile[names.length];
+		for(int i = 0; i < names.length; i++){
+			palette[i] = Asset_Registry.getInstance().tile(names[i]);
+		}
+
+		byte[] cells = new byte[width * height];
+		in.readFully(cells);
+		Tile[][] tiles = new Tile[width][height];
+		char[][] pathfinding = new char[width][height];
+		for(int x = 0; x < width; x++){
+			for(int y = 0; y < height; y++){
+				tiles[x][y] = palette[cells[x * height + y] & 0xFF];
+			}
+		}
+		for(int x = 0; x < width; x++){
+			for(int y = 0; y < height; y++){
+				pathfinding[x][y] = (char)in.readUnsignedByte();
+			}
+		}
+
+		Map map = new Map(tiles);
+		map.pathfinding = pathfinding;
+		map.res = DungeonUtility.generateResistances(pathfinding);
+		return map;
+	}
+
+	// Entity ids are not kept across a save, so the AI targets of the stored entities are written after
+	// them as positions in the stored list, -1 for the player. A target that isn't on the level is lost.
+	private static void write_targets(DataOutputStream out, ArrayList<Integer> stored) throws IOException {
+		HashMap<Integer, Integer> position_of = new HashMap<>();
+		for(int i = 0; i < stored.size(); i++){
+			position_of.put(stored.get(i), i);
+		}
+		IntVLA hunters = new IntVLA(), targets = new IntVLA();
+		for(int i = 0; i < stored.size(); i++){
+			AI ai = entityManager.gc(stored.get(i), AI.class);
+			if(ai == null || !ai.has_seen || ai.current_target == null)
+				continue;
+			Integer target = entityManager.player.equals(ai.current_target) ? Integer.valueOf(-1) : position_of.get(ai.current_target);
+			if(target == null)
+				continue;
+			hunters.add(i);
+			targets.add(target);
+		}
+		out.writeInt(hunters.size);
+		for(int i = 0; i < hunters.size; i++){
+			out.writeInt(hunters.get(i));
+			out.writeInt(targets.get(i));
+		}
+	}
+
+	private static void read_targets(DataInputStream in, ArrayList<Integer> loaded) throws IOException {
+		int count = in.readInt();
+		for(int i = 0; i < count; i++){
+			AI ai = entityManager.gc(loaded.get(in.readInt()), AI.class);
+			int target = in.readInt();
+			ai.has_seen = true;
+			ai.current_target = target == -1 ? entityManager.player : loaded.get(target);
+		}
+	}
+
+	private static void write_entity(DataOutputStream out, Integer entity) throws IOException {
+		Position position = entityManager.gc(entity, Position.class);
+		Sprite sprite = entityManager.gc(entity, Sprite.class);
+		Statistics statistics = entityManager.gc(entity, Statistics.class);
+		Details details = entityManager.gc(entity, Details.class);
+		Energy energy = entityManager.gc(entity, Energy.class);
+		AI ai = entityManager.gc(entity, AI.class);
+		Equipment equipment = entityManager.gc(entity, Equipment.class);
+		Inventory inventory = entityManager.gc(entity, Inventory.class);
+		Vision vision = entityManager.gc(entity, Vision.class);
+		Equippable equippable = entityManager.gc(entity, Equippable.class);
+		Armor armor = entityManager.gc(entity, Armor.class);
+		Offensive_Component offensive = entityManager.gc(entity, Offensive_Component.class);
+
+		int flags = 0;
+		if(position != null) flags |= POSITION;
+		if(sprite != null) flags |= SPRITE;
+		if(statistics != null) flags |= STATISTICS;
+		if(details != null) flags |= DETAILS;
+		if(energy != null) flags |= ENERGY;
+		if(ai != null) flags |= AI_FLAG;
+		if(equipment != null) flags |= EQUIPMENT;
+		if(inventory != null) flags |= INVENTORY;
+		if(vision != null) flags |= VISION;
+		if(entityManager.gc(entity, Active.class) != null) flags |= ACTIVE;
+		if(entityManager.gc(entity, Action_Component.class) != null) flags |= ACTION;
+		if(equippable != null) flags |= EQUIPPABLE;
+		if(armor != null) flags |= ARMOR;
+		if(offensive != null) flags |= OFFENSIVE;
+		out.writeShort(flags);
+
+		if(position != null){
+			write_coord(out, position.location);
+		}
+		if(sprite != null){
+			out.writeChar(sprite.character);
+			out.writeInt(Color.rgba8888(sprite.foregroundColor));
+		}
+		if(statistics != null){
+			for(Stat stat : Stat.ALL){
+				out.writeShort(statistics.minimum(stat));
+				out.writeShort(statistics.maximum(stat));
+				out.writeShort(statistics.get(stat));
+			}
+		}
+		if(details != null){
+			out.writeUTF(details.getName());
+			out.writeUTF(details.description != null ? details.description : "");
+			out.writeByte(details.race != null ? details.race.ordinal() : -1);
+			out.writeByte(details.hostile_to.size());
+			for(Hostility hostility : details.hostile_to){
+				out.writeByte(hostility instanceof Race ? ((Race)hostility).ordinal() : -1);
+			}
+			out.writeInt(details.template);
+		}
+		if(energy != null){
+			out.writeInt(energy.speed);
+			out.writeInt(energy.energy);
+		}
+		if(ai != null){
+			out.writeByte(ai.mode.ordinal());   // its target is written by write_targets
+		}
+		if(equipment != null){
+			for(Equipment_Slot slot : Equipment_Slot.ALL){
+				Integer item = equipment.get_slot(slot);
+				out.writeBoolean(item != null);
+				if(item != null)
+					write_entity(out, item);
+			}
+		}
+		if(inventory != null){
+			IntVLA items = inventory.items();
+			out.writeShort(items.size);
+			for(int i = 0; i < items.size; i++){
+				write_entity(out, items.get(i));
+			}
+		}
+		if(vision != null){
+			out.writeDouble(vision.getRange());
+		}
+		if(equippable != null){
+			out.writeByte(equippable.slots.size());
+			for(Equipment_Slot slot : equippable.slots){
+				out.writeByte(slot.ordinal());
+			}
+		}
+		if(armor != null){
+			for(Damage_Type type : Damage_Type.ALL){
+				out.writeShort(armor.resistance(type));
+			}
+		}
+		if(offensive != null){
+			out.writeByte(offensive.damages.size());
+			for(Damage damage : offensive.damages){
+				out.writeUTF(damage.type);
+				out.writeShort(damage.dice.getNumber_of());
+				out.writeShort(damage.dice.getSize());
+			}
+		}
+	}
+
+	private static Integer read_entity(DataInputStream in, Map map) throws IOException {
+		Integer entity = entityManager.createEntity();
+		int flags = in.readUnsignedShort();
+
+		Coord location = null;
+		if((flags & POSITION) != 0){
+			Position position = new Position(map);
+			position.location = location = read_coord(in);
+			entityManager.addComponent(entity, position);
+		}
+		if((flags & SPRITE) != 0){
+			char character = in.readChar();
+			entityManager.addComponent(entity, new Sprite(character, new Color(in.readInt())));
+		}
+		if((flags & STATISTICS) != 0){
+			Statistics statistics = new Statistics();
+			for(Stat stat : Stat.ALL){
+				int minimum = in.readShort();
+				int maximum = in.readShort();
+				statistics.set_limits(stat, minimum, maximum, in.readShort());
+			}
+			entityManager.addComponent(entity, statistics);
+		}
+		if((flags & DETAILS) != 0){
+			Details details = new Details();
+			details.name = in.readUTF();
+			details.description = in.readUTF();
+			details.race = read_race(in.readByte());
+			int hostilities = in.readUnsignedByte();
+			for(int i = 0; i < hostilities; i++){
+				details.hostile_to.add(read_race(in.readByte()));
+			}
+			details.template = in.readInt();
+			entityManager.addComponent(entity, details);
+		}
+		if((flags & ENERGY) != 0){
+			Energy energy = new Energy(in.readInt());
+			energy.energy = in.readInt();
+			entityManager.addComponent(entity, energy);
+		}
+		if((flags & AI_FLAG) != 0){
+			AI ai = new AI();
+			ai.mode = AI_MODE.values()[in.readByte()];
+			entityManager.addComponent(entity, ai);
+		}
+		if((flags & EQUIPMENT) != 0){
+			Equipment equipment = new Equipment();
+			for(Equipment_Slot slot : Equipment_Slot.ALL){
+				if(in.readBoolean())
+					equipment.put(slot, read_entity(in, map));
+			}
+			entityManager.addComponent(entity, equipment);
+		}
+		if((flags & INVENTORY) != 0){
+			Inventory inventory = new Inventory();
+			int items = in.readUnsignedShort();
+			for(int i = 0; i < items; i++){
+				inventory.add_item(read_entity(in, map));
+			}
+			entityManager.addComponent(entity, inventory);
+		}
+		if((flags & VISION) != 0){
+			entityManager.addComponent(entity, new Vision(location, map, in.readDouble()));
+		}
+		if((flags & ACTIVE) != 0){
+			entityManager.addComponent(entity, new Active());
+		}
+		if((flags & ACTION) != 0){
+			entityManager.addComponent(entity, new Action_Component());
+		}
+		if((flags & EQUIPPABLE) != 0){
+			Equippable equippable = new Equippable();
+			int slots = in.readUnsignedByte();
+			for(int i = 0; i < slots; i++){
+				equippable.add_slot(Equipment_Slot.ALL[in.readByte()]);
+			}
+			entityManager.addComponent(entity, equippable);
+		}
+		if((flags & ARMOR) != 0){
+			int[] resistances = new int[Damage_Type.COUNT];
+			for(int i = 0; i < resistances.length; i++){
+				resistances[i] = in.readShort();
+			}
+			entityManager.addComponent(entity, new Armor(resistances));
+		}
+		if((flags & OFFENSIVE) != 0){
+			ArrayList<Damage> damages = new ArrayList<>();
+			int count = in.readUnsignedByte();
+			for(int i = 0; i < count; i++){
+				String type = in.readUTF();
+				int number_of = in.readShort();
+				damages.add(new Damage(type, new Dice(number_of, in.readShort())));
+			}
+			entityManager.addComponent(entity, new Offensive_Component(damages));
+		}
+
+		return entity;
+	}
+
+	private static void kill_with_items(Integer entity){
+		Equipment equipment = entityManager.gc(entity, Equipment.class);
+		if(equipment != null){
+			for(Equipment_Slot slot : Equipment_Slot.ALL){
+				Integer item = equipment.get_slot(slot);
+				if(item != null)
+					kill_with_items(item);
+			}
+		}
+		Inventory inventory = entityManager.gc(entity, Inventory.class);
+		if(inventory != null){
+			IntVLA items = inventory.items();
+			for(int i = 0; i < items.size; i++){
+				kill_with_items(items.get(i));
+			}
+		}
+		entityManager.killEntity(entity);
+	}
+
+	private static Race read_race(byte ordinal){
+		return ordinal < 0 ? null : Race.values()[ordinal];
+	}
+
+	private static void write_coord(DataOutputStream out, Coord coord) throws IOException {
+		out.writeBoolean(coord != null);
+		if(coord != null){
+			out.writeShort(coord.x);
+			out.writeShort(coord.y);
+		}
+	}
+
+	private static Coord read_coord(DataInputStream in) throws IOException {
+		if(!in.readBoolean())
+			return null;
+		int x = in.readShort();
+		return Coord.get(x, in.readShort());
+	}
+}
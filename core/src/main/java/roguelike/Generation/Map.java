@@ -1,14 +1,11 @@
 package roguelike.Generation;
 
-import com.badlogic.gdx.Gdx;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 import squidpony.squidgrid.mapping.DungeonUtility;
 import roguelike.Components.Position;
+import roguelike.engine.Asset_Registry;
 import squidpony.squidmath.Coord;
+import squidpony.squidmath.IntVLA;
 
-import java.io.IOException;
 import java.util.ArrayList;
 
 import static roguelike.Generation.World.entityManager;
@@ -18,36 +15,34 @@ public class Map{
     private Tile[][] tiles;
     public char[][] pathfinding;
     public double[][] res;
-    private JSONObject tile_file;
 
     public ArrayList<Exit> exits;
 
-    private Map_Builder builder;
+    private int width;
+    private int height;
     public Coord stairs_down;
     public Coord stairs_up;
 
     public ArrayList<Integer> entities;
 
     public boolean isBuilt;
+    public long seed;
+
+    public static final int REBUILT = -1;
+    private final IntVLA edits = new IntVLA();  // cells whose tile was replaced as x * height + y, or REBUILT
 
     public Map(final Tile[][] tiles) {
         this.tiles = tiles;
         this.exits = new ArrayList<>();
         initializePathFinding();
         entities = new ArrayList<>();
-
-	    JSONParser parser = new JSONParser();
-	    try {
-		    this.tile_file = (JSONObject)parser.parse(Gdx.files.internal("tiles.json").reader());
-	    } catch (IOException | ParseException e) {
-		    e.printStackTrace();
-	    }
 	    this.isBuilt = false;
     }
 
-    public Map(final int width, final int height) {
-        builder = new Map_Builder(width, height);
-        tile_file = builder.tile_file;
+    public Map(final int width, final int height, final long seed) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
         this.isBuilt = false;
 	    entities = new ArrayList<>();
     }
@@ -56,23 +51,38 @@ public class Map{
         return tiles[x][y];
     }
 
+    // Every tile change so far, oldest first, so a renderer can pick up from the count it last saw
+    public int edit_count(){
+        return edits.size;
+    }
+
+    public int edit(int index){
+        return edits.get(index);
+    }
+
     public void buildStandardLevel(){
-    	builder.buildStandardLevel();
+    	Map_Builder builder = Map_Builder.obtain(width, height);
+    	builder.buildStandardLevel(seed);
         tiles = builder.getMap();
         pathfinding = builder.getPathfinding();
         this.stairs_down = builder.getStairsDown();
         this.stairs_up = builder.getStairsUp();
 	    this.exits = new ArrayList<>();
 	    this.isBuilt = true;
+	    edits.add(REBUILT);
+	    Map_Builder.free(builder);
     }
 
     public void build_final_level(){
-	    builder.build_final_level();
+	    Map_Builder builder = Map_Builder.obtain(width, height);
+	    builder.build_final_level(seed);
 	    tiles = builder.getMap();
 	    pathfinding = builder.getPathfinding();
 	    this.stairs_up = builder.getStairsUp();
 	    this.exits = new ArrayList<>();
 	    this.isBuilt = true;
+	    edits.add(REBUILT);
+	    Map_Builder.free(builder);
     }
 
     public int width(){
@@ -103,6 +113,32 @@ public class Map{
 	    return null;
     }
 
+    // Every passable cell that isn't a staircase, an exit or already taken by an entity, in one pass
+    public ArrayList<Coord> free_cells(){
+        boolean[][] taken = new boolean[width()][height()];
+        for(Integer actor : entities){
+            Coord location = entityManager.gc(actor, Position.class).location;
+            if(location != null)
+                taken[location.x][location.y] = true;
+        }
+        for(Exit exit : exits){
+            taken[exit.exit_location.x][exit.exit_location.y] = true;
+        }
+        if(stairs_up != null)
+            taken[stairs_up.x][stairs_up.y] = true;
+        if(stairs_down != null)
+            taken[stairs_down.x][stairs_down.y] = true;
+
+        ArrayList<Coord> cells = new ArrayList<>();
+        for (int i = 0; i < tiles.length; i++) {
+            for (int j = 0; j < tiles[0].length; j++) {
+                if(tiles[i][j].passable && !taken[i][j])
+                    cells.add(Coord.get(i, j));
+            }
+        }
+        return cells;
+    }
+
     public boolean isExit(Coord location){
 
     	for(Exit exit : exits){
@@ -137,7 +173,10 @@ public class Map{
 	}
 
 	public void open_door(Coord start, Coord direction){
-    	tiles[start.x + direction.x][start.y + direction.y] = new Tile((JSONObject)tile_file.get("door - open"));
+    	tiles[start.x + direction.x][start.y + direction.y] = Asset_Registry.getInstance().tile("door - open");
+    	edits.add((start.x + direction.x) * height() + start.y + direction.y);
+    	if(res == null)
+    		res = DungeonUtility.generateResistances(pathfinding);
     	res[start.x + direction.x][start.y + direction.y] = 0.15;
 	}
 
@@ -1,19 +1,15 @@
 package roguelike.Generation;
 
-import com.badlogic.gdx.Gdx;
 import lombok.Getter;
 import lombok.Setter;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import roguelike.engine.Asset_Registry;
 import roguelike.utilities.Point;
-import roguelike.utilities.Roll;
 import squidpony.squidmath.Coord;
 import squidpony.squidmath.IntVLA;
+import squidpony.squidmath.LinnormRNG;
+import squidpony.squidmath.RNG;
 
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 @Getter @Setter
@@ -37,30 +33,70 @@ public class Map_Builder {
     private int minRoomSize;
     private int numberOfPlacementTries;
 
-    public JSONObject tile_file;
+    private final Tile wall;
+    private final Tile floor;
+    private final Tile door_closed;
+    private final Tile stairs_up;
+    private final Tile stairs_down;
 
     private boolean[][] roomFlag;
     private boolean[][] connected;
     private boolean[][] revealed;
 
+    // Each build gets its own generator seeded by the caller, so a level only depends on its seed
+    // and not on whatever else has drawn from Roll before it. This also keeps builders on separate
+    // threads from sharing any RNG state.
+    private RNG rng;
+
+    // Builders are only needed while a level is being generated, so a few are kept here and handed
+    // out again for the next level instead of every Map holding on to its own.
+    private static final int POOL_LIMIT = 4;
+    private static final ArrayList<Map_Builder> pool = new ArrayList<>();
+
+    private int width;
+    private int height;
+
     public Map_Builder(int width, int height){
-        this.pathfinding = new char[width][height];
-        this.map = new Tile[width][height];
+        this.width = width;
+        this.height = height;
         this.minRoomSize = 3;
         this.maxRoomSize = 7;
         this.numberOfPlacementTries = 100;
         this.connected = new boolean[width][height];
         this.roomFlag = new boolean[width][height];
         this.revealed = new boolean[width][height];
-		JSONParser parser = new JSONParser();
-	    try {
-		    this.tile_file = (JSONObject)parser.parse(Gdx.files.internal("tiles.json").reader());
-	    } catch (IOException | ParseException e) {
-		    e.printStackTrace();
-	    }
+        Asset_Registry assets = Asset_Registry.getInstance();
+        this.wall = assets.tile("wall");
+        this.floor = assets.tile("floor - dungeon");
+        this.door_closed = assets.tile("door - closed");
+        this.stairs_up = assets.tile("stairs - up");
+        this.stairs_down = assets.tile("stairs - down");
+    }
+
+    public static Map_Builder obtain(int width, int height){
+        synchronized (pool) {
+            for(int i = pool.size() - 1; i >= 0; i--){
+                if(pool.get(i).width == width && pool.get(i).height == height)
+                    return pool.remove(i);
+            }
+        }
+        return new Map_Builder(width, height);
+    }
+
+    // The built map and pathfinding arrays now belong to the Map, so only the scratch state is kept.
+    public static void free(Map_Builder builder){
+        builder.map = null;
+        builder.pathfinding = null;
+        builder.rng = null;
+        builder.clear_lists();
+        synchronized (pool) {
+            if(pool.size() < POOL_LIMIT)
+                pool.add(builder);
+        }
     }
 
-    public void buildStandardLevel(){
+    public void buildStandardLevel(long seed){
+        rng = new RNG(new LinnormRNG(seed));
         initializeMap();
         placeRooms();
         startMaze();
@@ -71,7 +107,8 @@ public class Map_Builder {
         initializePathfinding();
     }
 
-    public void build_final_level(){
+    public void build_final_level(long seed){
+	    rng = new RNG(new LinnormRNG(seed));
 	    initializeMap();
 	    placeRooms();
 	    startMaze();
@@ -84,15 +121,28 @@ public class Map_Builder {
 
     private void initializeMap(){
 
-        JSONObject wall = (JSONObject)tile_file.get("wall");
 
+        map = new Tile[width][height];
+        pathfinding = new char[width][height];
         for(int x = 0; x < map.length; x++){
             for(int y = 0; y < map[0].length; y++){
-                map[x][y] = new Tile(wall);
+                map[x][y] = wall;
                 connected[x][y] = false;
                 revealed[x][y] = false;
+                roomFlag[x][y] = false;
             }
         }
+        clear_lists();
+    }
+
+    private void clear_lists(){
+        rooms.clear();
+        frontier.clear();
+        deadEnds.clear();
+        potentialDoors.clear();
+        extraDoors.clear();
+        connections.clear();
+        ctr.clear();
     }
 
     private void placeRooms(){
@@ -102,16 +152,16 @@ public class Map_Builder {
     }
 
     private void placeRoom(){
-        int h = Roll.rand(minRoomSize, maxRoomSize);
+        int h = rand(minRoomSize, maxRoomSize);
         if(h % 2 == 0){
             h = h + 1;
         }
-        int w = Roll.rand(h, maxRoomSize);
+        int w = rand(h, maxRoomSize);
         if(w % 2 == 0){
             w = w + 1;
         }
-        int x = Roll.rand(0, (map.length - w - 2));
-        int y = Roll.rand(0, (map[0].length - h - 2));
+        int x = rand(0, (map.length - w - 2));
+        int y = rand(0, (map[0].length - h - 2));
         if(x % 2 == 0){
             x += 1;
         }
@@ -123,7 +173,7 @@ public class Map_Builder {
 
         boolean failed = false;
         for(Room otherRoom : rooms){
-            if(newRoom.intersects(otherRoom)){
+            if(newRoom.intersects(otherRoom, rng)){
                 failed = true;
                 break;
             }
@@ -136,11 +186,10 @@ public class Map_Builder {
 
     private void stampRoom(Room room){
 
-    	JSONObject floor = (JSONObject)tile_file.get("floor - dungeon");
 
         for(int i = 0; i <= room.getBottomRight().x - room.getTopLeft().x; i++){
             for(int j = 0; j <= room.getBottomRight().y - room.getTopLeft().y; j++){
-                map[room.getTopLeft().x + i][room.getTopLeft().y + j] = new Tile(floor);
+                map[room.getTopLeft().x + i][room.getTopLeft().y + j] = floor;
                 roomFlag[room.getTopLeft().x + i][room.getTopLeft().y + j] = true;
             }
         }
@@ -174,7 +223,7 @@ public class Map_Builder {
         carvePath(start);
         updateFrontier();
         while(!frontier.isEmpty()){
-            int idx = Roll.rand(0, frontier.size() - 2) & -2;
+            int idx = rand(0, frontier.size() - 2) & -2;
             Coord current = frontier.remove(idx);
             frontier.remove(idx);
             buildFrontier(current);
@@ -195,8 +244,7 @@ public class Map_Builder {
     }
 
     private void carvePath(Coord s){
-    	JSONObject floor = (JSONObject)tile_file.get("floor - dungeon");
-        map[s.x][s.y] = new Tile(floor);
+        map[s.x][s.y] = floor;
     }
 
     private void updateFrontier(){
@@ -234,7 +282,7 @@ public class Map_Builder {
     }
 
     private void placeAllDoors(){
-        Room tempRoom = rooms.get(Roll.rand(0, rooms.size() - 1));
+        Room tempRoom = rooms.get(rand(0, rooms.size() - 1));
         floodFill(tempRoom.getTopLeft().x, tempRoom.getTopLeft().y);
         while(!connections.isEmpty()){
             findDoors();
@@ -245,7 +293,7 @@ public class Map_Builder {
     }
 
     private void findDoors(){
-        Roll.rng.shuffleInPlace(connections);
+        rng.shuffleInPlace(connections);
         for(Coord p : connections){
             if((connected[p.x - 1][p.y]) && (!connected[p.x + 1][p.y])){
                 potentialDoors.add(p);
@@ -265,14 +313,13 @@ public class Map_Builder {
     private void placeDoor(){
         if(potentialDoors.isEmpty())
             return;
-        Coord door = Roll.rng.getRandomElement(potentialDoors);
+        Coord door = rng.getRandomElement(potentialDoors);
         while (hasDoorNeighbor(door)) {
-            door = Roll.rng.getRandomElement(potentialDoors);
+            door = rng.getRandomElement(potentialDoors);
         }
 
-        JSONObject doorobj = (JSONObject)tile_file.get("door - closed");
 
-        map[door.x][door.y] = new Tile(doorobj);
+        map[door.x][door.y] = door_closed;
         floodFill(door.x, door.y);
         extraDoors.addAll(potentialDoors);
         potentialDoors.clear();
@@ -281,12 +328,11 @@ public class Map_Builder {
     private void createExtraDoors(){
         if(extraDoors.isEmpty())
             return;
-        Roll.rng.shuffleInPlace(extraDoors);
-        for(int i = Roll.rng.nextInt(3); i >= 0; i--){
-            Coord check = Roll.rng.getRandomElement(extraDoors);
+        rng.shuffleInPlace(extraDoors);
+        for(int i = rng.nextInt(3); i >= 0; i--){
+            Coord check = rng.getRandomElement(extraDoors);
             if(!hasDoorNeighbor(check)){
-            	JSONObject door_closed = (JSONObject)tile_file.get("door - closed");
-                map[check.x][check.y] = new Tile(door_closed);
+                map[check.x][check.y] = door_closed;
             }
         }
         extraDoors.clear();
@@ -305,29 +351,26 @@ public class Map_Builder {
     }
 
     private void placeStairs(){
-        Collections.shuffle(rooms);
+        rng.shuffleInPlace(rooms);
         Room upstairs = rooms.get(0);
         Room downstairs = rooms.get(rooms.size() - 1);
-        int x1 = Roll.rand(upstairs.getTopLeft().x + 1, upstairs.getBottomRight().x - 1);
-        int y1 = Roll.rand(upstairs.getTopLeft().y + 1, upstairs.getBottomRight().y - 1);
-        int x2 = Roll.rand(downstairs.getTopLeft().x + 1, downstairs.getBottomRight().x - 1);
-        int y2 = Roll.rand(downstairs.getTopLeft().y + 1, downstairs.getBottomRight().y - 1);
-        JSONObject stairs_up = (JSONObject)tile_file.get("stairs - up");
-        JSONObject stairs_down = (JSONObject)tile_file.get("stairs - down");
-        map[x1][y1] = new Tile(stairs_up);
-        map[x2][y2] = new Tile(stairs_down);
+        int x1 = rand(upstairs.getTopLeft().x + 1, upstairs.getBottomRight().x - 1);
+        int y1 = rand(upstairs.getTopLeft().y + 1, upstairs.getBottomRight().y - 1);
+        int x2 = rand(downstairs.getTopLeft().x + 1, downstairs.getBottomRight().x - 1);
+        int y2 = rand(downstairs.getTopLeft().y + 1, downstairs.getBottomRight().y - 1);
+        map[x1][y1] = stairs_up;
+        map[x2][y2] = stairs_down;
         stairsUp = Coord.get(x1, y1);
         stairsDown = Coord.get(x2, y2);
     }
 
     private void place_only_up_stairs(){
-	    Collections.shuffle(rooms);
+	    rng.shuffleInPlace(rooms);
 	    Room upstairs = rooms.get(0);
-	    int x1 = Roll.rand(upstairs.getTopLeft().x + 1, upstairs.getBottomRight().x - 1);
-	    int y1 = Roll.rand(upstairs.getTopLeft().y + 1, upstairs.getBottomRight().y - 1);
+	    int x1 = rand(upstairs.getTopLeft().x + 1, upstairs.getBottomRight().x - 1);
+	    int y1 = rand(upstairs.getTopLeft().y + 1, upstairs.getBottomRight().y - 1);
 
-	    JSONObject stairs_up = (JSONObject)tile_file.get("stairs - up");
-	    map[x1][y1] = new Tile(stairs_up);
+	    map[x1][y1] = stairs_up;
 	    stairsUp = Coord.get(x1, y1);
 
     }
@@ -360,6 +403,10 @@ public class Map_Builder {
         floodFill(x, y - 1);
     }
 
+    private int rand(int min, int max){
+        return rng.between(min, max + 1);
+    }
+
     private Tile getTile(Coord p){
         return map[p.x][p.y];
     }
@@ -436,9 +483,8 @@ public class Map_Builder {
                 }
             }
         }
-        JSONObject wall = (JSONObject)tile_file.get("wall");
         for(Coord p : deadEnds){
-            map[p.x][p.y] = new Tile(wall);
+            map[p.x][p.y] = wall;
         }
         deadEnds.clear();
     }
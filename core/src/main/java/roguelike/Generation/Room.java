@@ -2,8 +2,8 @@ package roguelike.Generation;
 
 import lombok.Getter;
 import lombok.Setter;
-import roguelike.utilities.Roll;
 import squidpony.squidmath.Coord;
+import squidpony.squidmath.RNG;
 
 @Getter @Setter
 public class Room {
@@ -16,8 +16,8 @@ public class Room {
         this.bottomRight = Coord.get(x + width - 1, y + height - 1);
     }
 
-    public boolean intersects(Room second){
+    public boolean intersects(Room second, RNG rng){
 
-        return (this.getTopLeft().x <= second.bottomRight.x + Roll.rand(3, 5)) && (this.getBottomRight().x + Roll.rand(3, 5) >= second.getTopLeft().x) && (this.getTopLeft().y <= second.getBottomRight().y + Roll.rand(3, 5)) && (this.getBottomRight().y + Roll.rand(3, 5) >= second.getTopLeft().y);
+        return (this.getTopLeft().x <= second.bottomRight.x + rng.between(3, 6)) && (this.getBottomRight().x + rng.between(3, 6) >= second.getTopLeft().x) && (this.getTopLeft().y <= second.getBottomRight().y + rng.between(3, 6)) && (this.getBottomRight().y + rng.between(3, 6) >= second.getTopLeft().y);
     }
 }
\ No newline at end of file
@@ -3,27 +3,23 @@ package roguelike.Generation;
 import org.json.simple.JSONObject;
 import roguelike.Components.Sprite;
 
+// Tiles are shared definitions handed out by Asset_Registry; every cell of every map using the same
+// kind of tile points at the same instance, so none of this should change after loading.
 public class Tile {
-	public String name;
-	public Sprite sprite;
-	public String description;
-	public Exit exit;
-	public int movement_cost;
-	public boolean passable;
-	public boolean openable;
+	public final String name;
+	public final Sprite sprite;
+	public final String description;
+	public final int movement_cost;
+	public final boolean passable;
+	public final boolean openable;
 
-	public Tile(JSONObject tile){
+	public Tile(String name, JSONObject tile){
 
-		openable = false;
-
-		for(Object o : tile.keySet()){
-			switch (o.toString()){
-				case "sprite": 			sprite = new Sprite((JSONObject)tile.get(o)); break;
-				case "description": 	description = (String)tile.get(o); break;
-				case "movement cost":	movement_cost = (int)(long)tile.get(o); break;
-				case "passable": 		passable = (boolean)tile.get(o); break;
-				case "openable":        openable = (boolean)tile.get(o); break;
-			}
-		}
+		this.name = name;
+		sprite = new Sprite((JSONObject)tile.get("sprite"));
+		description = (String)tile.get("description");
+		movement_cost = tile.containsKey("movement cost") ? (int)(long)tile.get("movement cost") : 0;
+		passable = tile.containsKey("passable") && (boolean)tile.get("passable");
+		openable = tile.containsKey("openable") && (boolean)tile.get("openable");
 	}
 }
@@ -0,0 +1,107 @@
+package roguelike.Generation;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import roguelike.utilities.Alias_Table;
+import roguelike.utilities.Roll;
+import squidpony.squidmath.RNG;
+
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+// A group or loot table compiled for sampling. Entries in the data files are either a name, with a
+// weight of 1, or { "name": ..., "weight": ... }. A name can refer to another table ("group:..." or
+// "loot:..."), which is flattened in with its chances scaled by the entry's share, so sampling is a
+// single alias table lookup however deep the references go. The name "nothing" is an empty outcome.
+public class Weighted_Table<T> {
+
+	public static final String NOTHING = "nothing";
+
+	private final Object[] outcomes;
+	private final double[] chances;
+	private final Alias_Table alias;
+
+	Weighted_Table(T outcome){
+		outcomes = new Object[]{outcome};
+		chances = new double[]{1.0};
+		alias = null;
+	}
+
+	private Weighted_Table(LinkedHashMap<T, Double> weights){
+		outcomes = weights.keySet().toArray();
+		chances = new double[outcomes.length];
+		double total = 0;
+		int i = 0;
+		for(double weight : weights.values()){
+			chances[i++] = weight;
+			total += weight;
+		}
+		for(i = 0; i < chances.length; i++){
+			chances[i] /= total;
+		}
+		alias = outcomes.length > 1 ? new Alias_Table(chances) : null;
+	}
+
+	static <T> Weighted_Table<T> compile(String name, JSONArray entries, Function<String, Weighted_Table<T>> resolve){
+		LinkedHashMap<T, Double> weights = new LinkedHashMap<>();
+		for(Object entry : entries){
+			String reference;
+			double weight = 1.0;
+			if(entry instanceof JSONObject){
+				JSONObject weighted = (JSONObject)entry;
+				reference = (String)weighted.get("name");
+				if(weighted.containsKey("weight"))
+					weight = ((Number)weighted.get("weight")).doubleValue();
+			}
+			else
+				reference = (String)entry;
+
+			if(reference == null || weight < 0)
+				throw new IllegalArgumentException(name + " has a bad entry: " + entry);
+			if(weight == 0)
+				continue;
+
+			if(NOTHING.equals(reference)){
+				weights.merge(null, weight, Double::sum);
+				continue;
+			}
+			Weighted_Table<T> table = resolve.apply(reference);
+			for(int i = 0; i < table.size(); i++){
+				weights.merge(table.outcome(i), weight * table.chances[i], Double::sum);
+			}
+		}
+		if(weights.isEmpty())
+			throw new IllegalArgumentException(name + " has nothing to choose from");
+
+		return new Weighted_Table<>(weights);
+	}
+
+	public int size(){
+		return outcomes.length;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T outcome(int index){
+		return (T)outcomes[index];
+	}
+
+	public double chance(int index){
+		return chances[index];
+	}
+
+	public T sample(){
+		return sample(Roll.rng);
+	}
+
+	public T sample(RNG rng){
+		return alias == null ? outcome(0) : outcome(alias.sample(rng));
+	}
+
+	// Fills out[offset] to out[offset + count - 1] with outcome indices, see outcome(int)
+	public void sample_many(int[] out, int offset, int count, RNG rng){
+		if(alias == null)
+			java.util.Arrays.fill(out, offset, offset + count, 0);
+		else
+			alias.sample_many(out, offset, count, rng);
+	}
+}
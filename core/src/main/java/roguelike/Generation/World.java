@@ -3,18 +3,16 @@ package roguelike.Generation;
 import com.badlogic.gdx.Gdx;
 import lombok.Getter;
 import lombok.Setter;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import roguelike.Components.Command;
 import roguelike.Components.Position;
-import roguelike.Components.Sprite;
+import roguelike.Systems.Death_System;
 import roguelike.Systems.Turn_System;
+import roguelike.engine.Asset_Registry;
 import roguelike.engine.EntityManager;
-import roguelike.engine.Message_Log;
+import roguelike.utilities.Roll;
 import squidpony.squidmath.Coord;
 
 import java.util.ArrayList;
-import java.util.Scanner;
 
 @Getter
 @Setter
@@ -25,8 +23,7 @@ public class World {
 
 	private int map_width;
 	private int map_height;
-
-	private JSONObject tiles;
+	private long world_seed;
 
 	private Map surface;
 	private Map current_map;
@@ -40,20 +37,18 @@ public class World {
 	public ArrayList<Exit> surface_exits;
 
 	public World(int map_width, int map_height) {
+		this(map_width, map_height, Roll.rng.nextLong());
+	}
+
+	public World(int map_width, int map_height, long world_seed) {
 		this.map_width = map_width;
 		this.map_height = map_height;
+		this.world_seed = world_seed;
 
 		surface_exits = new ArrayList<>();
 
-		JSONParser parser = new JSONParser();
-		try {
-			tiles = (JSONObject)parser.parse(Gdx.files.internal("tiles.json").reader());
-		} catch (Exception e)
-		{
-			e.printStackTrace();
-		}
-		first_dungeon = new Dungeon("Main Dungeon", 25);
-		surface = new Map(initializeMapWithFile("surface.txt"));
+		first_dungeon = new Dungeon("Main Dungeon", 25, world_seed);
+		surface = new Map(initializeSurface());
 		first_dungeon.add_level(0, surface);
 		first_dungeon.build_basic_dungeon();
 		initialize_exits();
@@ -62,70 +57,63 @@ public class World {
 		player = entityManager.player = Factory.getInstance().initialize_player();
 		Factory.getInstance().build_player(player, starting_location, surface);
 		turn_system = new Turn_System();
-		reload();
 	}
+
+	// Hands input to the player, on the GL thread when the game screen is shown
 	public void reload()
 	{
 		Gdx.input.setInputProcessor(entityManager.gc(player, Command.class));
 	}
 
+	// Deletes what the world saved to disk, for when it is thrown away or replaced
+	public void dispose(){
+		first_dungeon.discard();
+	}
+
 	public void initialize_exits(){
 		surface.exits.addAll(surface_exits);
 	}
 
 
-	private Tile[][] initializeMapWithFile(String fileName){
+	private Tile[][] initializeSurface(){
 
-		Scanner fileScanner = openFile(fileName);
-
-		String line;
+		Asset_Registry assets = Asset_Registry.getInstance();
 		Tile[][] mapToReturn = new Tile[map_width][map_height];
 
 		int index = 0;
 
-		while(fileScanner.hasNextLine()){
-			line = fileScanner.nextLine();
-			JSONObject tile;
+		for(String line : assets.surface()){
 			for(int i = 0; i < line.length(); i++){
 				char c = line.charAt(i);
 
 				if(c == '='){
-					tile = (JSONObject) tiles.get("water");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("water");
 				}
 				else if(c == '^'){
-					tile = (JSONObject) tiles.get("mountain");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("mountain");
 				}
 				else if(c == '"'){
-					tile = (JSONObject) tiles.get("grass");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("grass");
 				}
 				else if(c == '&'){
-					tile = (JSONObject) tiles.get("forest");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("forest");
 				}
 				else if(c == '.'){
-					tile = (JSONObject) tiles.get("road");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("road");
 				}
 				else if(c == '1'){
-					tile = (JSONObject) tiles.get("cave");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("cave");
 					surface_exits.add(new Exit(first_dungeon, Coord.get(i, index), 1, "stairs - up"));
 					first_dungeon_location = Coord.get(i, index);
 				}
 				else if(c == 'X') {
-					tile = (JSONObject) tiles.get("road");
-					mapToReturn[i][index] = new Tile(tile);
+					mapToReturn[i][index] = assets.tile("road");
 					starting_location = Coord.get(i, index);
 				}
 			}
 			index++;
 		}
 
-		fileScanner.close();
-
 		return mapToReturn;
 	}
 
@@ -138,19 +126,6 @@ public class World {
 	}
 
 	public void perform_deaths(){
-
-		while (!Factory.getInstance().death_queue.isEmpty()){
-			Integer entity = Factory.getInstance().death_queue.poll();
-			Message_Log.getInstance().add_formatted_message("die", entity);
-			entityManager.gc(entity, Position.class).map.entities.remove(entity);
-			Sprite sprite = entityManager.gc(entity, Sprite.class);
-			if(sprite != null && sprite.glyph != null) 
-				entityManager.display.removeGlyph(sprite.glyph);
-			entityManager.killEntity(entity);
-		}
-	}
-
-	private static Scanner openFile(String fileName) {
-		return new Scanner(Gdx.files.internal(fileName).reader());
+		Death_System.getInstance().perform_deaths();
 	}
 }
@@ -1,28 +1,157 @@
 package roguelike.Systems;
 
-import roguelike.Components.Statistics;
-import roguelike.Generation.Factory;
+import roguelike.Components.*;
+import roguelike.Enums.Equipment_Slot;
+import roguelike.Enums.Stat;
+import roguelike.Generation.Map;
+import roguelike.engine.Message_Log;
+import squidpony.squidmath.IntVLA;
+
+import java.util.ArrayList;
+import java.util.BitSet;
 
 import static roguelike.Generation.World.entityManager;
 
+// Damage goes through here in two steps. Actions post damage events into a ring buffer and process()
+// applies them, marking anyone who drops to their minimum in a bitset of pending deaths. perform_deaths()
+// then removes every dead entity, and whatever it carried, from all the component stores in one sweep.
+// Nothing is allocated per hit; the buffers only grow if a turn posts more than they hold.
 public class Death_System implements Base_System{
 
-	public Integer attacker, defender, amount;
-	public String stat_affected;
+	private static Death_System death_system = null;
+	private static final int DIE = Message_Log.verb("die");
+
+	private int[] attackers;
+	private int[] defenders;
+	private int[] stats;
+	private int[] amounts;
+	private int head;       // next event to apply
+	private int size;
+
+	private final BitSet pending;      // dead, waiting for the sweep
+	private int[] dying;               // the same entities in the order they died, for the messages
+	private int dying_count;
+	private final BitSet swept;        // the dead plus their items
+	private final ArrayList<Map> maps; // that the dead were standing on
+
+	private Death_System(){
+		attackers = new int[64];
+		defenders = new int[64];
+		stats = new int[64];
+		amounts = new int[64];
+		pending = new BitSet();
+		dying = new int[16];
+		swept = new BitSet();
+		maps = new ArrayList<>();
+	}
+
+	public static Death_System getInstance(){
+		if(death_system == null)
+			death_system = new Death_System();
+
+		return death_system;
+	}
+
+	public void post_damage(int attacker, int defender, Stat stat, int amount){
+		if(size == attackers.length)
+			grow();
 
-	public Death_System(Integer attacker, Integer defender, String stat_affected, Integer amount){
-		this.attacker = attacker;
-		this.defender = defender;
-		this.stat_affected = stat_affected;
-		this.amount = amount;
+		int tail = (head + size) & (attackers.length - 1);
+		attackers[tail] = attacker;
+		defenders[tail] = defender;
+		stats[tail] = stat.ordinal();
+		amounts[tail] = amount;
+		size++;
 	}
 
+	// Applies every posted event
 	@Override
 	public void process() {
-		entityManager.gc(defender, Statistics.class).get_stat(stat_affected).changeValue(amount);
+		while(size > 0){
+			int defender = defenders[head];
+			Stat stat = Stat.ALL[stats[head]];
+			int amount = amounts[head];
+			head = (head + 1) & (attackers.length - 1);
+			size--;
+
+			Statistics statistics = entityManager.gc(defender, Statistics.class);
+			if(statistics != null && !pending.get(defender) && apply(statistics, stat, amount)){
+				pending.set(defender);
+				if(dying_count == dying.length)
+					dying = java.util.Arrays.copyOf(dying, dying_count * 2);
+				dying[dying_count++] = defender;
+			}
+		}
+	}
+
+	public boolean is_dying(int entity){
+		return pending.get(entity);
+	}
 
-		if(entityManager.gc(defender, Statistics.class).get_stat(stat_affected).isMinimum() && !Factory.getInstance().death_queue.contains(defender)){
-			Factory.getInstance().death_queue.add(defender);
+	public void perform_deaths(){
+		process();
+		if(dying_count == 0)
+			return;
+
+		for(int i = 0; i < dying_count; i++){
+			int entity = dying[i];
+			Message_Log.getInstance().add(DIE, entity);
+			Position position = entityManager.gc(entity, Position.class);
+			if(position != null && position.map != null && !maps.contains(position.map))
+				maps.add(position.map);
+			entityManager.glyphs.detach(entity);
+			mark_with_items(entity);
+		}
+
+		for(Map map : maps){
+			map.entities.removeIf(pending::get);
+		}
+		maps.clear();
+		entityManager.killEntities(swept);
+		swept.clear();
+		pending.clear();
+		dying_count = 0;
+	}
+
+	private void mark_with_items(int entity){
+		swept.set(entity);
+		Equipment equipment = entityManager.gc(entity, Equipment.class);
+		if(equipment != null){
+			for(Equipment_Slot slot : Equipment_Slot.ALL){
+				Integer item = equipment.get_slot(slot);
+				if(item != null)
+					mark_with_items(item);
+			}
+		}
+		Inventory inventory = entityManager.gc(entity, Inventory.class);
+		if(inventory != null){
+			IntVLA items = inventory.items();
+			for(int i = 0; i < items.size; i++){
+				mark_with_items(items.get(i));
+			}
 		}
 	}
+
+	private void grow(){
+		int capacity = attackers.length * 2;
+		attackers = unwrap(attackers, capacity);
+		defenders = unwrap(defenders, capacity);
+		stats = unwrap(stats, capacity);
+		amounts = unwrap(amounts, capacity);
+		head = 0;
+	}
+
+	private int[] unwrap(int[] ring, int capacity){
+		int[] grown = new int[capacity];
+		for(int i = 0; i < size; i++){
+			grown[i] = ring[(head + i) & (ring.length - 1)];
+		}
+		return grown;
+	}
+
+	// Changes the stat and says whether it has hit its minimum, which for health means dead
+	public static boolean apply(Statistics statistics, Stat stat, int amount){
+		statistics.change(stat, amount);
+		return statistics.is_minimum(stat);
+	}
 }
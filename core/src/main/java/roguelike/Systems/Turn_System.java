@@ -5,6 +5,8 @@ import roguelike.Components.Action_Component;
 import roguelike.Components.Active;
 import roguelike.Components.Command;
 import roguelike.Components.Energy;
+import roguelike.engine.Timings;
+import roguelike.engine.Tween_Batch;
 
 import java.util.ArrayList;
 
@@ -12,15 +14,25 @@ import static roguelike.Generation.World.entityManager;
 
 public class Turn_System implements Base_System {
 
+	private static final int TURN = Timings.section("Turn_System.process");
+	private static final int AI = Timings.section("AI_System.process");
+	private static final int TWEENS = Timings.counter("tweens per turn");
+
 	private Energy_System energy_system;
 	private AI_System AI_System;
+	private int actions;    // performed so far, so the screen knows when entities may have moved
 
 	public Turn_System(){
 		this.energy_system = new Energy_System();
 	}
 
+	public int getActions(){
+		return actions;
+	}
+
 	@Override
 	public void process() {
+		long started = Timings.start();
 		ArrayList<Integer> actors = new ArrayList<>(entityManager.getAllEntitiesPossessingComponent(Active.class));
 		actors.sort((a, b) -> a < b ? -1 : a.equals(b) ? 0 : 1);
 		int current_actor = actors.get(0);
@@ -28,9 +40,11 @@ public class Turn_System implements Base_System {
 		this.AI_System = new AI_System(actors);
 
 		while(true){
+			long thinking = Timings.start();
 			AI_System.process();
+			Timings.stop(AI, thinking);
 			Command command = entityManager.gc(current_actor, Command.class);
-			if(command != null && !entityManager.display.hasActiveAnimations() && command.hasNext())
+			if(command != null && !Tween_Batch.getInstance().animating() && command.hasNext())
 			{
 				command.next();
 			}
@@ -40,16 +54,23 @@ public class Turn_System implements Base_System {
 
 				entityManager.gc(current_actor, Energy.class).energy += entityManager.gc(current_actor, Energy.class).speed;
 
-				if (entityManager.gc(current_actor, Action_Component.class).getAction().perform()) {
+				long acting = Timings.start();
+				boolean done = action.perform();
+				Timings.stop_action(action.getClass(), acting);
+				actions++;
+				Death_System.getInstance().process();
+				if (done) {
 					current_actor = actors.get((actors.indexOf(current_actor) + 1) % actors.size());
 				} else {
 					entityManager.gc(current_actor, Energy.class).energy -= entityManager.gc(current_actor, Energy.class).speed;
 				}
 			}
 			else{
+				Timings.count(TWEENS, Tween_Batch.getInstance().size());
+				Tween_Batch.getInstance().flush();     // the player's turn, so show what happened since the last one
 				break;
 			}
 		}
-
+		Timings.stop(TURN, started);
 	}
 }
@@ -0,0 +1,154 @@
+package roguelike.engine;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import roguelike.Enums.Data_File;
+import roguelike.Generation.Tile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Loads every data file in assets/ exactly once, in parallel, and hands out the compiled results.
+// Tiles become shared Tile definitions and surface.txt becomes its lines. The remaining JSON documents
+// are handed out as read-only copies (see Frozen_Json): Factory compiles them into templates once at
+// startup and nothing reads them after that, so they aren't worth typed definitions of their own.
+// When the build has produced data.pack (see Data_Pack) that is decoded instead of the text files,
+// unless one of the text files has been edited since, as happens during development.
+@SuppressWarnings("unchecked")
+public class Asset_Registry {
+
+	private static Asset_Registry asset_registry = null;
+
+	public static final String PACK_FILE = "data.pack";
+	private String source;
+
+	private final EnumMap<Data_File, JSONObject> documents;
+	private final EnumMap<Data_File, Long> load_times;
+	private java.util.Map<String, Tile> tiles;
+	private List<String> surface;
+
+	private Asset_Registry(){
+		documents = new EnumMap<>(Data_File.class);
+		load_times = new EnumMap<>(Data_File.class);
+		load_all();
+	}
+
+	public static synchronized Asset_Registry getInstance(){
+		if(asset_registry == null){
+			asset_registry = new Asset_Registry();
+		}
+
+		return asset_registry;
+	}
+
+	private void load_all(){
+		final Data_Pack pack = open_pack();
+		source = pack != null ? PACK_FILE : "JSON";
+		ExecutorService loader = Executors.newFixedThreadPool(Math.min(Data_File.ALL.length, Runtime.getRuntime().availableProcessors()));
+		EnumMap<Data_File, Future<Object>> pending = new EnumMap<>(Data_File.class);
+		for(final Data_File file : Data_File.ALL){
+			pending.put(file, loader.submit(() -> {
+				long start = System.nanoTime();
+				Object loaded = pack != null ? pack.decode(file.file_name) : null;
+				if(loaded == null)  // no pack, or one built before this file was added
+					loaded = file == Data_File.SURFACE ? read_lines(file) : parse(file);
+				synchronized (load_times) {
+					load_times.put(file, System.nanoTime() - start);
+				}
+				return loaded;
+			}));
+		}
+		loader.shutdown();
+
+		try {
+			for(Data_File file : Data_File.ALL){
+				Object loaded = pending.get(file).get();
+				if(file == Data_File.SURFACE)
+					surface = (List<String>)loaded;
+				else
+					documents.put(file, (JSONObject)Frozen_Json.freeze(loaded));
+			}
+		} catch (Exception e){
+			e.printStackTrace();
+		}
+
+		long start = System.nanoTime();
+		HashMap<String, Tile> compiled = new HashMap<>();
+		JSONObject tile_file = documents.get(Data_File.TILES);
+		for(Object name : tile_file.keySet()){
+			compiled.put((String)name, new Tile((String)name, (JSONObject)tile_file.get(name)));
+		}
+		tiles = Collections.unmodifiableMap(compiled);
+		load_times.put(Data_File.TILES, load_times.get(Data_File.TILES) + System.nanoTime() - start);
+	}
+
+	private static Data_Pack open_pack(){
+		FileHandle handle = Gdx.files.internal(PACK_FILE);
+		if(!handle.exists())
+			return null;
+		try {
+			File file = handle.file();
+			if(!file.exists()) // packaged inside the jar, so it can't be mapped
+				return Data_Pack.open(ByteBuffer.wrap(handle.readBytes()));
+
+			for(Data_File data : Data_File.ALL){
+				if(Gdx.files.internal(data.file_name).file().lastModified() > file.lastModified())
+					return null;
+			}
+			try(RandomAccessFile stream = new RandomAccessFile(file, "r"); FileChannel channel = stream.getChannel()) {
+				return Data_Pack.open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			}
+		} catch (Exception e){
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private static JSONObject parse(Data_File file) throws Exception {
+		return (JSONObject)new JSONParser().parse(Gdx.files.internal(file.file_name).reader());
+	}
+
+	private static List<String> read_lines(Data_File file) throws Exception {
+		ArrayList<String> lines = new ArrayList<>();
+		try(BufferedReader reader = Gdx.files.internal(file.file_name).reader(64)) {
+			for(String line = reader.readLine(); line != null; line = reader.readLine()){
+				lines.add(line);
+			}
+		}
+		return Collections.unmodifiableList(lines);
+	}
+
+	public Tile tile(String name){
+		return tiles.get(name);
+	}
+
+	public JSONObject data(Data_File file){
+		return documents.get(file);
+	}
+
+	public List<String> surface(){
+		return surface;
+	}
+
+	public long load_time(Data_File file){
+		Long time = load_times.get(file);
+		return time == null ? 0L : time;
+	}
+
+	public String report(){
+		StringBuilder builder = new StringBuilder("Loaded assets from ").append(source).append(':');
+		for(Data_File file : Data_File.ALL){
+			builder.append(String.format("%n  %-22s %8.3f ms", file.file_name, load_time(file) / 1e6));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,276 @@
+package roguelike.engine;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// The binary form of the data files in assets/, written at build time by Data_Pack_Compiler and read
+// by Asset_Registry instead of parsing the JSON. Layout, all big-endian:
+//
+//   int magic, int version
+//   varint string count, then each string as varint byte length + UTF-8 bytes
+//   varint entry count, then each entry as varint name index + int offset + int length
+//   entry bodies, each one tagged value
+//
+// Every string (keys included) is stored once in the table and referenced by index. Decoded values
+// are the same JSONObject/JSONArray/String/Long/Double/Boolean types json-simple produces.
+public class Data_Pack {
+
+	public static final int MAGIC = 0x53445041; // "SDPA"
+	public static final int VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	private static final byte LONG = 3;
+	private static final byte DOUBLE = 4;
+	private static final byte STRING = 5;
+	private static final byte ARRAY = 6;
+	private static final byte OBJECT = 7;
+
+	private final String[] strings;
+	private final LinkedHashMap<String, ByteBuffer> entries;
+
+	private Data_Pack(String[] strings, LinkedHashMap<String, ByteBuffer> entries){
+		this.strings = strings;
+		this.entries = entries;
+	}
+
+	// Returns null if the buffer is not a pack of the current version.
+	public static Data_Pack open(ByteBuffer buffer){
+		if(buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			return null;
+
+		String[] strings = new String[read_varint(buffer)];
+		for(int i = 0; i < strings.length; i++){
+			byte[] bytes = new byte[read_varint(buffer)];
+			buffer.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>();
+		int count = read_varint(buffer);
+		for(int i = 0; i < count; i++){
+			String name = strings[read_varint(buffer)];
+			int offset = buffer.getInt();
+			int length = buffer.getInt();
+			ByteBuffer body = buffer.duplicate();
+			body.position(offset);
+			body.limit(offset + length);
+			entries.put(name, body.slice());
+		}
+		return new Data_Pack(strings, entries);
+	}
+
+	public Set<String> names(){
+		return entries.keySet();
+	}
+
+	// Safe to call from several threads at once, each entry gets its own view of the buffer.
+	public Object decode(String name){
+		ByteBuffer body = entries.get(name);
+		if(body == null)
+			return null;
+		return read_value(body.duplicate());
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object read_value(ByteBuffer buffer){
+		byte tag = buffer.get();
+		switch (tag){
+			case NULL: return null;
+			case FALSE: return Boolean.FALSE;
+			case TRUE: return Boolean.TRUE;
+			case LONG: return read_varlong(buffer);
+			case DOUBLE: return buffer.getDouble();
+			case STRING: return strings[read_varint(buffer)];
+			case ARRAY: {
+				int size = read_varint(buffer);
+				JSONArray array = new JSONArray();
+				array.ensureCapacity(size);
+				for(int i = 0; i < size; i++){
+					array.add(read_value(buffer));
+				}
+				return array;
+			}
+			case OBJECT: {
+				int size = read_varint(buffer);
+				JSONObject object = new JSONObject();
+				for(int i = 0; i < size; i++){
+					String key = strings[read_varint(buffer)];
+					object.put(key, read_value(buffer));
+				}
+				return object;
+			}
+			default: throw new IllegalStateException("Unknown tag " + tag + " in data pack");
+		}
+	}
+
+	// Writes the given name -> value entries as a pack. Values may be anything json-simple parses to,
+	// plus Lists of Strings for plain text files.
+	public static void write(LinkedHashMap<String, Object> values, OutputStream stream) throws IOException {
+		LinkedHashMap<String, Integer> table = new LinkedHashMap<>();
+		for(java.util.Map.Entry<String, Object> entry : values.entrySet()){
+			intern(table, entry.getKey());
+			collect_strings(table, entry.getValue());
+		}
+
+		ArrayList<byte[]> bodies = new ArrayList<>();
+		for(Object value : values.values()){
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream body = new DataOutputStream(bytes);
+			write_value(table, body, value);
+			body.flush();
+			bodies.add(bytes.toByteArray());
+		}
+
+		ByteArrayOutputStream header_bytes = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(header_bytes);
+		header.writeInt(MAGIC);
+		header.writeInt(VERSION);
+		write_varint(header, table.size());
+		for(String string : table.keySet()){
+			byte[] utf = string.getBytes(StandardCharsets.UTF_8);
+			write_varint(header, utf.length);
+			header.write(utf);
+		}
+		write_varint(header, values.size());
+		// offsets are fixed-width so the header size does not depend on them
+		int index_size = 0;
+		for(String name : values.keySet()){
+			index_size += varint_size(table.get(name)) + 8;
+		}
+		int offset = header.size() + index_size;
+		int i = 0;
+		for(String name : values.keySet()){
+			write_varint(header, table.get(name));
+			header.writeInt(offset);
+			header.writeInt(bodies.get(i).length);
+			offset += bodies.get(i++).length;
+		}
+		header.flush();
+
+		stream.write(header_bytes.toByteArray());
+		for(byte[] body : bodies){
+			stream.write(body);
+		}
+		stream.flush();
+	}
+
+	private static void intern(LinkedHashMap<String, Integer> table, String string){
+		if(!table.containsKey(string))
+			table.put(string, table.size());
+	}
+
+	private static void collect_strings(LinkedHashMap<String, Integer> table, Object value){
+		if(value instanceof String){
+			intern(table, (String)value);
+		}
+		else if(value instanceof java.util.Map){
+			for(java.util.Map.Entry<?, ?> entry : ((java.util.Map<?, ?>)value).entrySet()){
+				intern(table, entry.getKey().toString());
+				collect_strings(table, entry.getValue());
+			}
+		}
+		else if(value instanceof List){
+			for(Object element : (List<?>)value){
+				collect_strings(table, element);
+			}
+		}
+	}
+
+	private static void write_value(LinkedHashMap<String, Integer> table, DataOutputStream out, Object value) throws IOException {
+		if(value == null){
+			out.writeByte(NULL);
+		}
+		else if(value instanceof Boolean){
+			out.writeByte((Boolean)value ? TRUE : FALSE);
+		}
+		else if(value instanceof Long || value instanceof Integer){
+			out.writeByte(LONG);
+			write_varlong(out, ((Number)value).longValue());
+		}
+		else if(value instanceof Number){
+			out.writeByte(DOUBLE);
+			out.writeDouble(((Number)value).doubleValue());
+		}
+		else if(value instanceof String){
+			out.writeByte(STRING);
+			write_varint(out, table.get(value));
+		}
+		else if(value instanceof java.util.Map){
+			java.util.Map<?, ?> map = (java.util.Map<?, ?>)value;
+			out.writeByte(OBJECT);
+			write_varint(out, map.size());
+			for(java.util.Map.Entry<?, ?> entry : map.entrySet()){
+				write_varint(out, table.get(entry.getKey().toString()));
+				write_value(table, out, entry.getValue());
+			}
+		}
+		else if(value instanceof List){
+			List<?> list = (List<?>)value;
+			out.writeByte(ARRAY);
+			write_varint(out, list.size());
+			for(Object element : list){
+				write_value(table, out, element);
+			}
+		}
+		else {
+			throw new IOException("Cannot pack a " + value.getClass());
+		}
+	}
+
+	private static void write_varint(DataOutputStream out, int value) throws IOException {
+		while((value & ~0x7F) != 0){
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int varint_size(int value){
+		int size = 1;
+		while((value & ~0x7F) != 0){
+			value >>>= 7;
+			size++;
+		}
+		return size;
+	}
+
+	private static int read_varint(ByteBuffer buffer){
+		int value = 0;
+		for(int shift = 0; ; shift += 7){
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if(b >= 0)
+				return value;
+		}
+	}
+
+	// zig-zag encoded so small negative numbers (stat modifiers) stay small
+	private static void write_varlong(DataOutputStream out, long value) throws IOException {
+		long zigzag = (value << 1) ^ (value >> 63);
+		while((zigzag & ~0x7FL) != 0){
+			out.writeByte((int)((zigzag & 0x7F) | 0x80));
+			zigzag >>>= 7;
+		}
+		out.writeByte((int)zigzag);
+	}
+
+	private static long read_varlong(ByteBuffer buffer){
+		long zigzag = 0;
+		for(int shift = 0; ; shift += 7){
+			byte b = buffer.get();
+			zigzag |= (long)(b & 0x7F) << shift;
+			if(b >= 0)
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+		}
+	}
+}
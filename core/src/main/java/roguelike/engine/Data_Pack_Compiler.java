@@ -0,0 +1,39 @@
+package roguelike.engine;
+
+import org.json.simple.parser.JSONParser;
+import roguelike.Enums.Data_File;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+
+// Run by the packData Gradle task: java Data_Pack_Compiler <assets directory> <output pack>
+public class Data_Pack_Compiler {
+
+	public static void main(String[] args) throws Exception {
+		File assets = new File(args[0]);
+		File output = new File(args[1]);
+
+		LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+		long source_bytes = 0;
+		for(Data_File file : Data_File.ALL){
+			File source = new File(assets, file.file_name);
+			source_bytes += source.length();
+			if(file == Data_File.SURFACE){
+				values.put(file.file_name, Files.readAllLines(source.toPath(), StandardCharsets.UTF_8));
+			}
+			else {
+				try(Reader reader = new InputStreamReader(new FileInputStream(source), StandardCharsets.UTF_8)) {
+					values.put(file.file_name, new JSONParser().parse(reader));
+				}
+			}
+		}
+
+		try(OutputStream stream = new BufferedOutputStream(new FileOutputStream(output))) {
+			Data_Pack.write(values, stream);
+		}
+		System.out.println(String.format("Packed %d data files (%d bytes) into %s (%d bytes)",
+				values.size(), source_bytes, output.getName(), output.length()));
+	}
+}
@@ -12,6 +12,7 @@ public class EntityManager
 	private List<Integer> allEntities;
 	private HashMap<Class<?>, HashMap<Integer, Component>> componentStores;
 	public SparseLayers display = null;
+	public final Glyph_Registry glyphs = new Glyph_Registry();
 	public Integer player = 0;
 	public EntityManager()
 	{
@@ -74,6 +75,27 @@ public class EntityManager
 		((HashMap<Integer, T>)store).put(entity, component);
 	}
 
+	// Makes room for count more entities in each store so a large batch doesn't rehash as it goes
+	public void reserve(int count, Class<?>... componentTypes)
+	{
+		for( Class<?> componentType : componentTypes )
+		{
+			HashMap<Integer, Component> store = componentStores.get( componentType );
+			int capacity = (int)((( store == null ? 0 : store.size() ) + count) / 0.75f) + 1;
+
+			if( store == null )
+			{
+				componentStores.put(componentType, new HashMap<Integer, Component>(capacity));
+			}
+			else if( count > store.size() ) // a smaller batch costs at most one doubling, not worth a copy
+			{
+				HashMap<Integer, Component> resized = new HashMap<>(capacity);
+				resized.putAll(store);
+				componentStores.put(componentType, resized);
+			}
+		}
+	}
+
 	public int createEntity()
 	{
 
@@ -103,6 +125,33 @@ public class EntityManager
 		}
 	}
 
+	// Removes every entity in the set with one pass over the entity list and one over each store
+	public void killEntities( BitSet entities )
+	{
+		synchronized( this )
+		{
+			int count = entities.cardinality();
+			if( count == 0 )
+				return;
+
+			allEntities.removeIf( entity -> entities.get(entity) );
+			for( HashMap<Integer, Component> store : componentStores.values() )
+			{
+				if( store.size() < count )
+				{
+					store.keySet().removeIf( entity -> entities.get(entity) );
+				}
+				else
+				{
+					for( int entity = entities.nextSetBit(0); entity >= 0; entity = entities.nextSetBit(entity + 1) )
+					{
+						store.remove(entity);
+					}
+				}
+			}
+		}
+	}
+
 	private int generateNewEntityID()
 	{
 		synchronized( this ) // prevent it generating two entities with same ID at once
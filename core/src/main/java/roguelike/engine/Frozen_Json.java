@@ -0,0 +1,111 @@
+package roguelike.engine;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+// Read-only copies of parsed JSON, for the documents Asset_Registry shares with every caller. They are
+// still a JSONObject and a JSONArray, so the casts the templates make keep working, but anything that
+// would change them throws UnsupportedOperationException, all the way down.
+public class Frozen_Json {
+
+	private Frozen_Json(){}
+
+	public static Object freeze(Object value){
+		if(value instanceof JSONObject)
+			return new Frozen_Object((JSONObject)value);
+		if(value instanceof JSONArray)
+			return new Frozen_Array((JSONArray)value);
+		return value;   // strings, boxed numbers and booleans can't be changed anyway
+	}
+
+	private static UnsupportedOperationException read_only(){
+		return new UnsupportedOperationException("Data files are read-only");
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static class Frozen_Object extends JSONObject {
+		private static final long serialVersionUID = 1L;
+		private final boolean sealed;
+
+		Frozen_Object(JSONObject source){
+			for(Object entry : source.entrySet()){
+				java.util.Map.Entry<Object, Object> pair = (java.util.Map.Entry<Object, Object>)entry;
+				super.put(pair.getKey(), freeze(pair.getValue()));
+			}
+			sealed = true;
+		}
+
+		@Override public Object put(Object key, Object value){ if(sealed) throw read_only(); return super.put(key, value); }
+		@Override public void putAll(java.util.Map map){ throw read_only(); }
+		@Override public Object remove(Object key){ throw read_only(); }
+		@Override public boolean remove(Object key, Object value){ throw read_only(); }
+		@Override public void clear(){ throw read_only(); }
+		@Override public Object putIfAbsent(Object key, Object value){ throw read_only(); }
+		@Override public Object replace(Object key, Object value){ throw read_only(); }
+		@Override public boolean replace(Object key, Object old_value, Object value){ throw read_only(); }
+		@Override public void replaceAll(BiFunction function){ throw read_only(); }
+		@Override public Object compute(Object key, BiFunction function){ throw read_only(); }
+		@Override public Object computeIfAbsent(Object key, Function function){ throw read_only(); }
+		@Override public Object computeIfPresent(Object key, BiFunction function){ throw read_only(); }
+		@Override public Object merge(Object key, Object value, BiFunction function){ throw read_only(); }
+		@Override public Set keySet(){ return Collections.unmodifiableSet(super.keySet()); }
+		@Override public Collection values(){ return Collections.unmodifiableCollection(super.values()); }
+		@Override public Set entrySet(){ return Collections.unmodifiableSet(super.entrySet()); }
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static class Frozen_Array extends JSONArray {
+		private static final long serialVersionUID = 1L;
+		private final boolean sealed;
+
+		Frozen_Array(JSONArray source){
+			super.ensureCapacity(source.size());
+			for(Object value : source){
+				super.add(freeze(value));
+			}
+			sealed = true;
+		}
+
+		@Override public boolean add(Object value){ if(sealed) throw read_only(); return super.add(value); }
+		@Override public void add(int index, Object value){ throw read_only(); }
+		@Override public boolean addAll(Collection values){ throw read_only(); }
+		@Override public boolean addAll(int index, Collection values){ throw read_only(); }
+		@Override public Object set(int index, Object value){ throw read_only(); }
+		@Override public Object remove(int index){ throw read_only(); }
+		@Override public boolean remove(Object value){ throw read_only(); }
+		@Override public boolean removeAll(Collection values){ throw read_only(); }
+		@Override public boolean retainAll(Collection values){ throw read_only(); }
+		@Override public boolean removeIf(Predicate filter){ throw read_only(); }
+		@Override public void replaceAll(UnaryOperator operator){ throw read_only(); }
+		@Override public void sort(Comparator comparator){ throw read_only(); }
+		@Override public void clear(){ throw read_only(); }
+		@Override public Iterator iterator(){ return listIterator(0); }
+		@Override public ListIterator listIterator(){ return listIterator(0); }
+		@Override public ListIterator listIterator(int index){ return new Read_Only_Iterator(super.listIterator(index)); }
+		@Override public List subList(int from, int to){ return Collections.unmodifiableList(super.subList(from, to)); }
+	}
+
+	private static class Read_Only_Iterator implements ListIterator<Object> {
+		private final ListIterator<Object> iterator;
+
+		Read_Only_Iterator(ListIterator<Object> iterator){
+			this.iterator = iterator;
+		}
+
+		@Override public boolean hasNext(){ return iterator.hasNext(); }
+		@Override public Object next(){ return iterator.next(); }
+		@Override public boolean hasPrevious(){ return iterator.hasPrevious(); }
+		@Override public Object previous(){ return iterator.previous(); }
+		@Override public int nextIndex(){ return iterator.nextIndex(); }
+		@Override public int previousIndex(){ return iterator.previousIndex(); }
+		@Override public void remove(){ throw read_only(); }
+		@Override public void set(Object value){ throw read_only(); }
+		@Override public void add(Object value){ throw read_only(); }
+	}
+}
@@ -4,17 +4,13 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.utils.viewport.StretchViewport;
 import lombok.Getter;
 import lombok.Setter;
 import roguelike.screens.Game_Screen;
-import roguelike.screens.Start_Screen;
+import roguelike.screens.Loading_Screen;
 
 @Getter @Setter
 public class Game extends com.badlogic.gdx.Game {
-    SpriteBatch batch;
 
     public static final int gridWidth = 112;
     public static final int gridHeight = 32;
@@ -25,20 +21,18 @@ public class Game extends com.badlogic.gdx.Game {
     public static final int cellWidth = 10;
     public static final int cellHeight = 20;
 
-    public Stage stage;
     private ScreenAdapter game_screen;
 
+    // set when the class loads at launch, for logging how long the first frames took at debug level
+    private static final long launch_time = System.nanoTime();
+    private boolean first_frame = true;
+    private boolean first_game_frame = true;
+
     @Override
     public void create () {
 
-        batch = new SpriteBatch();
-
-        StretchViewport mainViewport = new StretchViewport(gridWidth * cellWidth, gridHeight * cellHeight);
-        mainViewport.setScreenBounds(0, 0, gridWidth * cellWidth, gridHeight * cellHeight);
-
-        stage = new Stage(mainViewport, batch);
 
-	    setScreen(new Start_Screen(this));
+	    setScreen(new Loading_Screen(this));
     }
     @Override
     public void render () {
@@ -48,13 +42,22 @@ public class Game extends com.badlogic.gdx.Game {
         Screen screen = getScreen();
         if(screen != null) 
             screen.render(Gdx.graphics.getDeltaTime());
+        if(first_frame) {
+            first_frame = false;
+            Gdx.app.debug("Startup", String.format("First frame after %.1f ms", (System.nanoTime() - launch_time) / 1e6));
+        }
+        if(first_game_frame && screen != null && screen == game_screen) {
+            first_game_frame = false;
+            Gdx.app.debug("Startup", String.format("First game frame after %.1f ms", (System.nanoTime() - launch_time) / 1e6));
+        }
 //        stage.draw();
 //        stage.act();
     }
 
     @Override
 	public void dispose(){
-    	batch.dispose();
-    	stage.dispose();
+        if(game_screen != null)
+            game_screen.dispose();
+    	Render_Resources.getInstance().dispose();
     }
 }
@@ -0,0 +1,166 @@
+package roguelike.engine;
+
+import com.badlogic.gdx.utils.IntMap;
+import roguelike.Components.Position;
+import roguelike.Components.Sprite;
+import roguelike.Components.Vision;
+import roguelike.Generation.Map;
+import squidpony.squidgrid.gui.gdx.SparseLayers;
+import squidpony.squidgrid.gui.gdx.TextCellFactory;
+import squidpony.squidmath.Coord;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static roguelike.Generation.World.entityManager;
+
+// Which entities have a glyph on the display, grouped by the map they stand on. Each glyph remembers
+// its place in its map's group and in the display's glyph list, and taking one out moves the last of
+// each into the hole, so attaching and detaching never search. sync() puts up the entities the player
+// can see and takes down the rest, but only after a turn, a new field of view or a change of map, so on
+// most frames it is a few comparisons.
+public class Glyph_Registry {
+
+	private static class Entry {
+		int entity;
+		Sprite sprite;
+		Map map;
+		int group_index;    // in its map's group
+		int drawn_index;    // in display.glyphs, which nothing else adds to or removes from
+		Coord placed;       // map cell the glyph was last put on
+	}
+
+	private SparseLayers display;
+	private int top;                // display row of the map's first row
+
+	private final IntMap<Entry> entries = new IntMap<>();
+	private final HashMap<Map, ArrayList<Entry>> groups = new HashMap<>();
+	private final ArrayList<Entry> drawn = new ArrayList<>();   // in step with display.glyphs
+
+	private Map synced_map;
+	private Vision synced_vision;
+	private int synced_vision_version;
+	private int synced_turn;
+
+	// Glyphs are made on this display from now on, any on the last one are forgotten
+	public void set_display(SparseLayers display, int top){
+		if(display == this.display)
+			return;
+		for(Entry entry : drawn){
+			entry.sprite.glyph = null;
+		}
+		entries.clear();
+		groups.clear();
+		drawn.clear();
+		synced_map = null;
+		this.display = display;
+		this.top = top;
+	}
+
+	public int size(){
+		return drawn.size();
+	}
+
+	// Shows the entities of the map that are in the field of view and hides the others. turn is anything
+	// that changes when entities may have moved, appeared or gone.
+	public void sync(Map map, Vision vision, int turn){
+		if(display == null)
+			return;
+		double[][] fov = vision.getFov();
+		if(map == synced_map && vision == synced_vision && vision.getVersion() == synced_vision_version && turn == synced_turn)
+			return;
+		if(synced_map != null && map != synced_map)
+			detach_map(synced_map);
+		synced_map = map;
+		synced_vision = vision;
+		synced_vision_version = vision.getVersion();
+		synced_turn = turn;
+
+		for(Integer entity : map.entities){
+			Position position = entityManager.gc(entity, Position.class);
+			Sprite sprite = entityManager.gc(entity, Sprite.class);
+			if(position == null || position.location == null || sprite == null)
+				continue;
+			Coord at = position.location;
+			Entry entry = entries.get(entity);
+			if(fov[at.x][at.y] > 0){
+				if(entry == null)
+					attach(entity, sprite, map, at);
+				else if(!at.equals(entry.placed)){
+					entry.sprite.glyph.setPosition(display.worldX(at.x), display.worldY(at.y + top));
+					entry.placed = at;
+				}
+			}
+			else if(entry != null)
+				detach(entry);
+		}
+	}
+
+	public void attach(int entity, Sprite sprite, Map map, Coord at){
+		if(display == null || entries.containsKey(entity))
+			return;
+		Entry entry = new Entry();
+		entry.entity = entity;
+		entry.sprite = sprite;
+		entry.map = map;
+		entry.placed = at;
+
+		ArrayList<Entry> group = groups.get(map);
+		if(group == null){
+			group = new ArrayList<>();
+			groups.put(map, group);
+		}
+		entry.group_index = group.size();
+		group.add(entry);
+
+		sprite.glyph = display.glyph(sprite.character, sprite.foregroundColor, at.x, at.y + top);
+		entry.drawn_index = drawn.size();
+		drawn.add(entry);
+		entries.put(entity, entry);
+	}
+
+	public void detach(int entity){
+		Entry entry = entries.get(entity);
+		if(entry != null)
+			detach(entry);
+	}
+
+	// Takes down every glyph of the map, for when the player leaves it
+	public void detach_map(Map map){
+		ArrayList<Entry> group = groups.remove(map);
+		if(group == null)
+			return;
+		for(int i = group.size() - 1; i >= 0; i--){
+			remove_drawn(group.get(i));
+		}
+		if(map == synced_map)
+			synced_map = null;
+	}
+
+	private void detach(Entry entry){
+		ArrayList<Entry> group = groups.get(entry.map);
+		Entry last = group.remove(group.size() - 1);
+		if(last != entry){
+			group.set(entry.group_index, last);
+			last.group_index = entry.group_index;
+		}
+		if(group.isEmpty())
+			groups.remove(entry.map);
+		remove_drawn(entry);
+	}
+
+	private void remove_drawn(Entry entry){
+		TextCellFactory.Glyph glyph = entry.sprite.glyph;
+		glyph.clearActions();
+		int end = drawn.size() - 1;
+		Entry last = drawn.remove(end);
+		TextCellFactory.Glyph last_glyph = display.glyphs.remove(end);
+		if(last != entry){
+			drawn.set(entry.drawn_index, last);
+			display.glyphs.set(entry.drawn_index, last_glyph);
+			last.drawn_index = entry.drawn_index;
+		}
+		entry.sprite.glyph = null;
+		entries.remove(entry.entity);
+	}
+}
@@ -1,53 +1,218 @@
 package roguelike.engine;
 
 import roguelike.Components.Details;
+import roguelike.utilities.Word;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import static roguelike.Generation.World.entityManager;
 
+// The last CAPACITY messages in a ring, the oldest overwritten first. Game events are kept as who did
+// what to whom for how much, with the verb's conjugations worked out once when it's registered, and
+// are only turned into text and wrapped to the width of the screen when they are first shown. The
+// rows of the message area are only put together again when the version changes, which is on a new
+// message or a scroll. check_ticks doesn't throw messages away, it starts the message area afresh and
+// the older ones stay reachable with page up.
 public class Message_Log {
 
+	public static final int CAPACITY = 256;    // a power of two
+
 	public static Message_Log message_log = null;
-	public LinkedList<String> messages;
 	public int ticks;
 
+	private final Message[] messages = new Message[CAPACITY];
+	private int count;          // messages ever added, the newest is at (count - 1) & (CAPACITY - 1)
+	private int shown_from;     // the first message the message area shows when it isn't scrolled back
+	private int scroll;         // rows scrolled back from the newest
+	private int version;
+
+	private final int width;
+	private final StringBuilder row = new StringBuilder();
+	private final StringBuilder text = new StringBuilder();
+
+	// verb ids index these, "attack" is "attack" after "You" and "attacks" after anyone else
+	private static final ArrayList<String> verbs = new ArrayList<>();
+	private static final ArrayList<String> conjugated = new ArrayList<>();
+
+	private static final int TEXT = -1;     // a verb id for a message that is already text
+
+	private static class Message {
+		int verb;
+		String actor;       // the name of whoever did it, null for the player
+		String target;      // null for the player, and unused if there's no target
+		boolean has_target;
+		int amount;
+
+		String text;        // null until the message is first shown, unless it was added as text
+		String[] lines;     // text wrapped to the log's width, null until the message is first shown
+	}
+
 	private Message_Log(){
-		messages = new LinkedList<>();
+		width = Game.gridWidth;
+		for(int i = 0; i < CAPACITY; i++){
+			messages[i] = new Message();
+		}
 	}
 
 	public void check_ticks(){
 		if(ticks > 10) {
 			ticks = 0;
-			messages.clear();
+			shown_from = count;
+			version++;
 		}
 	}
-	public void add_formatted_message(String message, Integer ...entities){
 
-		if(entities.length == 1){
-			if(entityManager.gc(entities[0], Details.class).isPlayer){
-				messages.add(String.format("You %s.", message));
-			}
-			else{
-				messages.add(String.format("The %s %s.", entityManager.gc(entities[0], Details.class).name, structure_verb(message)));
-			}
+	// Registers a verb as written after "You" and returns its id for add(). Phrases like "quickly stab"
+	// conjugate the word after the adverb.
+	public static synchronized int verb(String base){
+		int id = verbs.indexOf(base);
+		if(id < 0){
+			id = verbs.size();
+			verbs.add(base);
+			conjugated.add(structure_verb(base));
 		}
-		else if(entities.length == 3){
-			if(entityManager.gc(entities[0], Details.class).isPlayer){
-				messages.add(String.format("You %s the %s for %d damage.",
-						message, entityManager.gc(entities[1], Details.class).name, entities[2]));
-			}
-			else if(entityManager.gc(entities[1], Details.class).isPlayer){
-				messages.add(String.format("The %s %s you for %d damage.",
-						entityManager.gc(entities[0], Details.class).name, structure_verb(message), entities[2]));
-			}
+		return id;
+	}
+
+	public void add_message(String text){
+		Message message = next();
+		message.verb = TEXT;
+		message.text = text;
+	}
+
+	// "The goblin dies."
+	public void add(int verb, int actor){
+		Message message = next();
+		message.verb = verb;
+		message.actor = name_of(actor);
+		message.has_target = false;
+	}
+
+	// "The goblin attacks you for 3 damage."
+	public void add(int verb, int actor, int target, int amount){
+		Message message = next();
+		message.verb = verb;
+		message.actor = name_of(actor);
+		message.target = name_of(target);
+		message.has_target = true;
+		message.amount = amount;
+	}
+
+	private Message next(){
+		Message message = messages[count & (CAPACITY - 1)];
+		message.text = null;
+		message.lines = null;
+		count++;
+		version++;
+		return message;
+	}
+
+	private static String name_of(int entity){
+		if(entity == entityManager.player)
+			return null;
+		Details details = entityManager.gc(entity, Details.class);
+		return details != null ? details.getName() : "";
+	}
+
+	// Turns the message into text the first time it's needed
+	private String[] lines(Message message){
+		if(message.lines == null){
+			if(message.text == null)
+				message.text = format(message);
+			message.lines = Word.wrap(message.text, width);
+		}
+		return message.lines;
+	}
+
+	private String format(Message message){
+		text.setLength(0);
+		if(message.actor == null)
+			text.append("You ").append(verbs.get(message.verb));
+		else
+			text.append("The ").append(message.actor).append(' ').append(conjugated.get(message.verb));
+		if(message.has_target){
+			if(message.target == null)
+				text.append(" you");
 			else
-				messages.add(String.format("The %s %s the %s for %d damage.", entityManager.gc(entities[0], Details.class).name,
-						structure_verb(message), entityManager.gc(entities[1], Details.class).name, entities[2]));
+				text.append(" the ").append(message.target);
+			text.append(" for ").append(message.amount).append(" damage");
+		}
+		return text.append('.').toString();
+	}
+
+	public int getVersion(){
+		return version;
+	}
+
+	public void page_up(int rows){
+		scroll += rows;
+		version++;
+	}
+
+	public void page_down(int rows){
+		if(scroll > 0){
+			scroll = Math.max(0, scroll - rows);
+			version++;
+		}
+	}
+
+	public void scroll_to_bottom(){
+		if(scroll > 0){
+			scroll = 0;
+			version++;
+		}
+	}
+
+	// Fills rows with what the message area shows, top row first, and "" for rows with nothing on them.
+	// Short messages share a row where they fit. Scrolling back past the oldest message stops at it.
+	public void fill_rows(String[] rows){
+		while(layout(rows, scroll) == 0 && scroll > 0){
+			scroll = Math.max(0, scroll - rows.length);
+		}
+	}
+
+	// Works back from the newest message, skipping the first skip rows, and returns how many rows it filled
+	private int layout(String[] rows, int skip){
+		Arrays.fill(rows, "");
+		int oldest = Math.max(count - CAPACITY, skip > 0 ? 0 : shown_from);
+		int next = rows.length - 1;     // filled from the bottom, then moved up
+		boolean packable = false;       // the row so far only holds one line messages
+		row.setLength(0);
+
+		for(int i = count - 1; i >= oldest && next >= 0; i--){
+			String[] lines = lines(messages[i & (CAPACITY - 1)]);
+			for(int l = lines.length - 1; l >= 0 && next >= 0; l--){
+				String line = lines[l];
+				if(packable && lines.length == 1 && row.length() + 1 + line.length() <= width){
+					row.insert(0, ' ').insert(0, line);
+					continue;
+				}
+				if(row.length() > 0){
+					if(skip > 0)
+						skip--;
+					else
+						rows[next--] = row.toString();
+					row.setLength(0);
+				}
+				row.append(line);
+				packable = lines.length == 1;
+			}
+		}
+		if(row.length() > 0 && next >= 0){
+			if(skip == 0)
+				rows[next--] = row.toString();
+		}
+
+		int filled = rows.length - 1 - next;
+		if(filled > 0 && next >= 0){
+			System.arraycopy(rows, next + 1, rows, 0, filled);
+			Arrays.fill(rows, filled, rows.length, "");
 		}
+		return filled;
 	}
 
-	public String structure_verb(String message){
+	private static String structure_verb(String message){
 		String[] words = message.split(" ");
 		if(isAnAdverb(words[0])){
 			if (shouldEndWithES(words[1])) {
@@ -72,11 +237,11 @@ public class Message_Log {
 		return builder.toString().trim();
 	}
 
-	private boolean isAnAdverb(String word){
+	private static boolean isAnAdverb(String word){
 		return word.toLowerCase().matches(".*(ly)");
 	}
 
-	private boolean shouldEndWithES(String word){
+	private static boolean shouldEndWithES(String word){
 		return word.toLowerCase().matches(".*(s|sh|x|ch|z)");
 	}
 
@@ -0,0 +1,82 @@
+package roguelike.engine;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.viewport.StretchViewport;
+import squidpony.squidgrid.gui.gdx.DefaultResources;
+import squidpony.squidgrid.gui.gdx.SparseLayers;
+import squidpony.squidgrid.gui.gdx.TextCellFactory;
+
+import static roguelike.engine.Game.*;
+
+// The font, sprite batch and stage every screen draws with, each made the first time it's asked for.
+// Screens used to build all three for themselves, a copy of the distance field font with its own
+// shader and a batch with its own buffers each time, so there is now one of each for the whole game.
+// A screen puts its display on the stage when it's shown, after clearing off whatever was there.
+public class Render_Resources {
+
+    private static Render_Resources render_resources = null;
+
+    private TextCellFactory font;
+    private SpriteBatch batch;
+    private Stage stage;
+
+    private Render_Resources(){}
+
+    public static Render_Resources getInstance(){
+        if(render_resources == null){
+            render_resources = new Render_Resources();
+        }
+
+        return render_resources;
+    }
+
+    public TextCellFactory font(){
+        if(font == null)
+            font = DefaultResources.getCrispDejaVuFont();
+        return font;
+    }
+
+    public SpriteBatch batch(){
+        if(batch == null)
+            batch = new SpriteBatch();
+        return batch;
+    }
+
+    public Stage stage(){
+        if(stage == null){
+            StretchViewport viewport = new StretchViewport(gridWidth * cellWidth, gridHeight * cellHeight);
+            viewport.setScreenBounds(0, 0, gridWidth * cellWidth, gridHeight * cellHeight);
+            stage = new Stage(viewport, batch());
+        }
+        return stage;
+    }
+
+    // A display covering the whole window in the shared font, filled with the background color
+    public SparseLayers new_display(Color background){
+        SparseLayers display = new SparseLayers(gridWidth, gridHeight, cellWidth, cellHeight, font());
+        // glyphs a little taller than the cells, as every screen has always drawn them
+        display.font.tweakHeight(cellHeight * 1.1f).initBySize();
+        display.fillBackground(background);
+        return display;
+    }
+
+    // Clears the stage and puts the display on it, for a screen being shown
+    public Stage show(SparseLayers display){
+        Stage stage = stage();
+        stage.clear();
+        stage.addActor(display);
+        return stage;
+    }
+
+    public void dispose(){
+        if(stage != null)
+            stage.dispose();
+        if(batch != null)
+            batch.dispose();
+        stage = null;
+        batch = null;
+        font = null;
+    }
+}
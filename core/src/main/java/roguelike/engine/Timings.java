@@ -0,0 +1,238 @@
+package roguelike.engine;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// How long the parts of a frame and of a turn take, each kept in a histogram whose buckets are a power
+// of two wide split in eight, so any time is within an eighth of its bucket's bound. Parts are named
+// once, as a static in the class they time, and actions are kept by type. Timing is off unless toggled
+// on with F3; while off start() hands back 0 and stop() returns straight away, so the calls left in the
+// game loop cost a field read each. While on, the overlay lines are rebuilt every half second, and every
+// DUMP_INTERVAL what was recorded is appended to timings.csv and the histograms start over. Counters,
+// such as how many cells a frame redrew, go in the same histograms and are shown as they are.
+public class Timings {
+
+	public static final String FILE = "timings.csv";
+	public static final long DUMP_INTERVAL = 10_000_000_000L;
+	private static final long OVERLAY_INTERVAL = 500_000_000L;
+
+	private static boolean enabled = false;
+
+	private static final ArrayList<String> names = new ArrayList<>();
+	private static final ArrayList<Histogram> sections = new ArrayList<>();
+	private static final ArrayList<Boolean> counters = new ArrayList<>();   // by section, false for times
+	private static final HashMap<Class<?>, Histogram> actions = new HashMap<>();
+
+	private static long window_start;
+	private static long overlay_built;
+	private static final ArrayList<String> overlay = new ArrayList<>();
+
+	public static class Histogram {
+		private static final int SUB_BITS = 3;
+		private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+		private final long[] counts = new long[64 * SUB_BUCKETS];
+		private long count;
+		private long total;
+		private long max;
+
+		public void record(long nanos){
+			if(nanos < 0)
+				nanos = 0;
+			counts[index(nanos)]++;
+			count++;
+			total += nanos;
+			if(nanos > max)
+				max = nanos;
+		}
+
+		public long count(){
+			return count;
+		}
+
+		public long mean(){
+			return count == 0 ? 0 : total / count;
+		}
+
+		public long max(){
+			return max;
+		}
+
+		// The bound of the bucket holding the given fraction of the times, 0.5 for the median
+		public long percentile(double fraction){
+			if(count == 0)
+				return 0;
+			long wanted = Math.max(1, (long)Math.ceil(count * fraction));
+			long seen = 0;
+			for(int i = 0; i < counts.length; i++){
+				seen += counts[i];
+				if(seen >= wanted)
+					return Math.min(upper(i), max);
+			}
+			return max;
+		}
+
+		public void reset(){
+			Arrays.fill(counts, 0);
+			count = 0;
+			total = 0;
+			max = 0;
+		}
+
+		private static int index(long nanos){
+			if(nanos < SUB_BUCKETS)
+				return (int)nanos;
+			int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+			int sub = (int)(nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+			return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+		}
+
+		private static long upper(int index){
+			if(index < SUB_BUCKETS)
+				return index;
+			int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+			int sub = index % SUB_BUCKETS;
+			return ((long)(SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+		}
+	}
+
+	// Registers a part of the game loop and returns its id, meant for a static final in the class timed
+	public static int section(String name){
+		return register(name, false);
+	}
+
+	// Registers something counted rather than timed, recorded with count()
+	public static int counter(String name){
+		return register(name, true);
+	}
+
+	private static int register(String name, boolean counter){
+		names.add(name);
+		sections.add(new Histogram());
+		counters.add(counter);
+		return sections.size() - 1;
+	}
+
+	public static boolean isEnabled(){
+		return enabled;
+	}
+
+	public static void toggle(){
+		if(enabled)
+			dump();     // what was recorded since the last dump
+		enabled = !enabled;
+		reset();
+		window_start = System.nanoTime();
+		overlay_built = 0;
+	}
+
+	public static long start(){
+		return enabled ? System.nanoTime() : 0L;
+	}
+
+	public static void stop(int section, long start){
+		if(!enabled || start == 0L)
+			return;
+		sections.get(section).record(System.nanoTime() - start);
+	}
+
+	public static void count(int counter, long value){
+		if(!enabled)
+			return;
+		sections.get(counter).record(value);
+	}
+
+	public static void stop_action(Class<?> type, long start){
+		if(!enabled || start == 0L)
+			return;
+		Histogram histogram = actions.get(type);
+		if(histogram == null){
+			histogram = new Histogram();
+			actions.put(type, histogram);
+		}
+		histogram.record(System.nanoTime() - start);
+	}
+
+	public static Histogram histogram(int section){
+		return sections.get(section);
+	}
+
+	// Called once a frame: dumps the window to the CSV file once it has run DUMP_INTERVAL
+	public static void tick(){
+		if(!enabled)
+			return;
+		long now = System.nanoTime();
+		if(now - window_start < DUMP_INTERVAL)
+			return;
+		dump();
+		reset();
+		window_start = now;
+	}
+
+	// A line per part and per action type that has run, as "name count mean p99 max" in microseconds, or
+	// as they are for counters
+	public static ArrayList<String> overlay_lines(){
+		long now = System.nanoTime();
+		if(overlay_built != 0 && now - overlay_built < OVERLAY_INTERVAL)
+			return overlay;
+		overlay_built = now;
+		overlay.clear();
+		overlay.add(String.format("%-22s %6s %7s %7s %7s", "us", "n", "mean", "p99", "max"));
+		for(int i = 0; i < sections.size(); i++){
+			add_overlay_line(names.get(i), sections.get(i), counters.get(i) ? 1 : 1e3);
+		}
+		for(Map.Entry<Class<?>, Histogram> action : actions.entrySet()){
+			add_overlay_line(action.getKey().getSimpleName(), action.getValue(), 1e3);
+		}
+		return overlay;
+	}
+
+	private static void add_overlay_line(String name, Histogram histogram, double scale){
+		if(histogram.count() == 0)
+			return;
+		overlay.add(String.format("%-22.22s %6d %7.1f %7.1f %7.1f", name, histogram.count(),
+				histogram.mean() / scale, histogram.percentile(0.99) / scale, histogram.max() / scale));
+	}
+
+	private static void dump(){
+		StringBuilder builder = new StringBuilder();
+		long time = System.currentTimeMillis();
+		for(int i = 0; i < sections.size(); i++){
+			append_row(builder, time, names.get(i), counters.get(i) ? "count" : "ns", sections.get(i));
+		}
+		for(Map.Entry<Class<?>, Histogram> action : actions.entrySet()){
+			append_row(builder, time, "action:" + action.getKey().getSimpleName(), "ns", action.getValue());
+		}
+		try {
+			FileHandle file = Gdx.files.local(FILE);
+			if(!file.exists())
+				file.writeString("time_ms,section,unit,count,mean,p50,p90,p99,max\n", false);
+			file.writeString(builder.toString(), true);
+		} catch (Exception e){
+			e.printStackTrace();
+		}
+	}
+
+	private static void append_row(StringBuilder builder, long time, String name, String unit, Histogram histogram){
+		if(histogram.count() == 0)
+			return;
+		builder.append(time).append(',').append(name).append(',').append(unit).append(',').append(histogram.count())
+				.append(',').append(histogram.mean())
+				.append(',').append(histogram.percentile(0.5))
+				.append(',').append(histogram.percentile(0.9))
+				.append(',').append(histogram.percentile(0.99))
+				.append(',').append(histogram.max()).append('\n');
+	}
+
+	private static void reset(){
+		for(Histogram histogram : sections){
+			histogram.reset();
+		}
+		actions.clear();
+	}
+}
@@ -0,0 +1,122 @@
+package roguelike.engine;
+
+import com.badlogic.gdx.utils.IntMap;
+import roguelike.Components.Sprite;
+import roguelike.Components.Vision;
+import squidpony.squidgrid.Direction;
+import squidpony.squidgrid.gui.gdx.SparseLayers;
+import squidpony.squidmath.Coord;
+
+import java.util.ArrayList;
+
+import static roguelike.Generation.World.entityManager;
+
+// The slides and bumps of one turn, held until the turn is over and then started together, so the
+// player waits for one batch of tweens rather than each monster's in turn. Only entities in the player's
+// field of view at either end of a move are animated, and an entity that moves twice in a turn slides
+// once from where it was to where it ends up. While fast is set, as it is when a key is held down and
+// repeating, nothing is animated at all and the glyph registry just puts the glyphs in their new places.
+public class Tween_Batch {
+
+	public static final float DURATION = 0.15f;
+
+	private static Tween_Batch tween_batch = null;
+
+	private static class Tween {
+		int entity;
+		Coord from;
+		Coord to;
+		Direction bump;     // null for a slide
+	}
+
+	private final IntMap<Tween> pending = new IntMap<>();
+	private final ArrayList<Tween> order = new ArrayList<>();
+	private final ArrayList<Tween> free = new ArrayList<>();
+	private boolean fast;
+
+	private Tween_Batch(){}
+
+	public static Tween_Batch getInstance(){
+		if(tween_batch == null){
+			tween_batch = new Tween_Batch();
+		}
+
+		return tween_batch;
+	}
+
+	public void setFast(boolean fast){
+		this.fast = fast;
+	}
+
+	public int size(){
+		return order.size();
+	}
+
+	// Whether the last batch is still playing. With no display, as when the game runs headless, it never is.
+	public boolean animating(){
+		SparseLayers display = entityManager.display;
+		return display != null && display.hasActiveAnimations();
+	}
+
+	public void slide(int entity, Coord from, Coord to){
+		Tween tween = pending.get(entity);
+		if(tween == null){
+			if(!visible(entity, from, to))
+				return;
+			tween = obtain(entity);
+			tween.from = from;
+		}
+		tween.to = to;
+		tween.bump = null;
+	}
+
+	public void bump(int entity, Coord at, Direction direction){
+		if(pending.containsKey(entity) || !visible(entity, at, at))
+			return;     // a slide already shows it acting this turn
+		Tween tween = obtain(entity);
+		tween.from = at;
+		tween.to = at;
+		tween.bump = direction;
+	}
+
+	// Starts everything held this turn. Entities whose glyph went away since, by dying or leaving, are
+	// skipped.
+	public void flush(){
+		SparseLayers display = entityManager.display;
+		for(int i = 0; i < order.size(); i++){
+			Tween tween = order.get(i);
+			Sprite sprite = entityManager.gc(tween.entity, Sprite.class);
+			if(display != null && sprite != null && sprite.glyph != null){
+				if(tween.bump != null)
+					display.bump(0f, sprite.glyph, tween.bump, DURATION, null);
+				else
+					display.slide(sprite.glyph, tween.from.x, tween.from.y + Game.message_buffer,
+							tween.to.x, tween.to.y + Game.message_buffer, DURATION, null);
+			}
+			pending.remove(tween.entity);
+			free.add(tween);
+		}
+		order.clear();
+	}
+
+	private boolean visible(int entity, Coord from, Coord to){
+		if(fast)
+			return false;
+		Sprite sprite = entityManager.gc(entity, Sprite.class);
+		if(sprite == null || sprite.glyph == null)
+			return false;   // the registry only gives glyphs to what the player could see last turn
+		Vision vision = entityManager.gc(entityManager.getPlayer(), Vision.class);
+		if(vision == null)
+			return false;
+		double[][] fov = vision.getFov();
+		return fov[from.x][from.y] > 0 || fov[to.x][to.y] > 0;
+	}
+
+	private Tween obtain(int entity){
+		Tween tween = free.isEmpty() ? new Tween() : free.remove(free.size() - 1);
+		tween.entity = entity;
+		pending.put(entity, tween);
+		order.add(tween);
+		return tween;
+	}
+}
@@ -3,9 +3,7 @@ package roguelike.screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.utils.viewport.StretchViewport;
 import lombok.Getter;
 import lombok.Setter;
 import roguelike.Components.Details;
@@ -13,12 +11,11 @@ import roguelike.Components.Equipment;
 import roguelike.Components.Inventory;
 import roguelike.Enums.Equipment_Slot;
 import roguelike.engine.Game;
-import squidpony.squidgrid.gui.gdx.DefaultResources;
+import roguelike.engine.Render_Resources;
 import squidpony.squidgrid.gui.gdx.SColor;
 import squidpony.squidgrid.gui.gdx.SparseLayers;
 import squidpony.squidgrid.gui.gdx.SquidInput;
-
-import java.util.ArrayList;
+import squidpony.squidmath.IntVLA;
 
 import static roguelike.Generation.World.entityManager;
 import static roguelike.engine.Game.*;
@@ -32,15 +29,13 @@ public class Equip_From_Inventory_Screen extends ScreenAdapter {
 	private Integer entity;
 	private Equipment_Screen equipment_screen;
 
-	private SpriteBatch batch;
-	private StretchViewport viewport;
 	private Stage stage;
 	private SparseLayers display;
 	private Color bgColor;
 
 	private SquidInput input;
 
-	private ArrayList<Integer> items;
+	private IntVLA items;     // the inventory's list for the slot, refreshed every frame
 	private Equipment_Slot slot;
 
 	private String alphabet = "abcdefghijklmnopqrstuvwxyz";
@@ -50,27 +45,21 @@ public class Equip_From_Inventory_Screen extends ScreenAdapter {
 		this.entity = entity;
 		this.equipment_screen = equipment_screen;
 
-		batch = new SpriteBatch();
-		viewport = new StretchViewport(gridWidth * cellWidth, gridHeight * cellHeight);
-		viewport.setScreenBounds(0, 0, gridWidth * cellWidth, gridHeight * cellHeight);
-		stage = new Stage(viewport, batch);
-		display = new SparseLayers(gridWidth, gridHeight, cellWidth, cellHeight, DefaultResources.getCrispDejaVuFont());
-		display.font.tweakHeight(cellHeight *1.1f).initBySize();
 		bgColor = SColor.DB_MIDNIGHT;
-		display.fillBackground(bgColor);
+		display = Render_Resources.getInstance().new_display(bgColor);
 	}
 
 	public void set_slot(Equipment_Slot slot){
 		this.slot = slot;
-		items = new ArrayList<>(entityManager.gc(entity, Inventory.class).get_items_that_fit_slot(slot));
+		items = entityManager.gc(entity, Inventory.class).fitting(slot);
 	}
 
 	@Override
 	public void show(){
-		stage.addActor(display);
+		stage = Render_Resources.getInstance().show(display);
 		input = new SquidInput((key, alt, ctrl, shift) -> {
 
-			if(alphabet.indexOf(key) > -1 && alphabet.indexOf(key) < items.size()){
+			if(alphabet.indexOf(key) > -1 && alphabet.indexOf(key) < items.size){
 				equip_item(items.get(alphabet.indexOf(key)));
 				game.setScreen(equipment_screen);
 			}
@@ -103,6 +92,7 @@ public class Equip_From_Inventory_Screen extends ScreenAdapter {
 	public void render(float delta) {
 		display.clear();
 
+		items = entityManager.gc(entity, Inventory.class).fitting(slot);
 		display_slotted_inventory();
 
 		stage.draw();
@@ -112,9 +102,13 @@ public class Equip_From_Inventory_Screen extends ScreenAdapter {
 	}
 
 	public void display_slotted_inventory(){
-		for(int i = 0; i < items.size(); i++){
-			Integer item = items.get(i);
+		Inventory inventory = entityManager.gc(entity, Inventory.class);
+		for(int i = 0; i < items.size && i < alphabet.length(); i++){
+			int item = items.get(i);
 			String name = entityManager.gc(item, Details.class).name;
+			int count = inventory.stack_size(item);
+			if(count > 1)
+				name = name + " (x" + count + ")";
 			display.put(2, i + 1, String.format("[%s] [%s]", alphabet.charAt(i), name), SColor.WHITE);
 		}
 	}
@@ -3,15 +3,13 @@ package roguelike.screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.utils.viewport.StretchViewport;
 import lombok.Getter;
 import roguelike.Components.Equipment;
 import roguelike.Enums.Equipment_Slot;
 import roguelike.engine.Game;
+import roguelike.engine.Render_Resources;
 import roguelike.utilities.Word;
-import squidpony.squidgrid.gui.gdx.DefaultResources;
 import squidpony.squidgrid.gui.gdx.SColor;
 import squidpony.squidgrid.gui.gdx.SparseLayers;
 import squidpony.squidgrid.gui.gdx.SquidInput;
@@ -24,8 +22,6 @@ public class Equipment_Screen extends ScreenAdapter {
 
 	private Game game;
 
-	private SpriteBatch batch;
-	private StretchViewport viewport;
 	private Stage stage;
 	private SparseLayers display;
 
@@ -44,22 +40,14 @@ public class Equipment_Screen extends ScreenAdapter {
 		this.game = game;
 		this.entity = entity;
 
-		batch = new SpriteBatch();
-		viewport = new StretchViewport(gridWidth * cellWidth, gridHeight * cellHeight);
-		viewport.setScreenBounds(0, 0, gridWidth * cellWidth, gridHeight * cellHeight);
-		stage = new Stage(viewport, batch);
-		display = new SparseLayers(gridWidth, gridHeight, cellWidth, cellHeight, DefaultResources.getCrispDejaVuFont());
-		display.font.tweakHeight(cellHeight *1.1f).initBySize();
 		bgColor = SColor.DB_MIDNIGHT;
-		display.fillBackground(bgColor);
+		display = Render_Resources.getInstance().new_display(bgColor);
 		slots = Equipment_Slot.values();
-
-		equip_from_inventory_screen = new Equip_From_Inventory_Screen(game, entity, this);
 	}
 
 	@Override
 	public void show(){
-		stage.addActor(display);
+		stage = Render_Resources.getInstance().show(display);
 		input = new SquidInput((key, alt, ctrl, shift) -> {
 
 			if(alphabet.indexOf(key) > -1 && alphabet.indexOf(key) < slots.length){
@@ -86,6 +74,8 @@ public class Equipment_Screen extends ScreenAdapter {
 
 	public void attempt_equip_or_unequip(Equipment_Slot slot){
 		if(entityManager.gc(entity, Equipment.class).get_slot(slot) == null){
+			if(equip_from_inventory_screen == null)
+				equip_from_inventory_screen = new Equip_From_Inventory_Screen(game, entity, this);
 			equip_from_inventory_screen.set_slot(slot);
 			game.setScreen(equip_from_inventory_screen);
 		}
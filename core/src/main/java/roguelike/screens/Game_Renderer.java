@@ -0,0 +1,155 @@
+package roguelike.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import roguelike.Components.Equipment;
+import roguelike.Components.Statistics;
+import roguelike.Components.Vision;
+import roguelike.Effects.Combat_Profile;
+import roguelike.Generation.World;
+import roguelike.engine.Message_Log;
+import roguelike.engine.Timings;
+import roguelike.utilities.Colors;
+import squidpony.squidgrid.gui.gdx.SColor;
+
+import java.util.ArrayList;
+
+import static roguelike.Generation.World.entityManager;
+import static roguelike.engine.Game.*;
+
+// Draws the game screen, messages on top, the map in the middle and the status bar below, onto a render
+// backend. Everything is only drawn again when it changed, so a frame where nothing happened puts
+// nothing. Game_Screen runs it on its display, and it runs the same way on a text buffer with no OpenGL.
+public class Game_Renderer {
+
+    private static final int MAP = Timings.section("render_map");
+    private static final int ENTITIES = Timings.section("render_entities");
+    private static final int REDRAWN = Timings.counter("map cells redrawn");
+
+    private final Render_Backend backend;
+    private final Map_Render_Cache map_cache;
+    private final Hud_Model hud = new Hud_Model();
+    private final String[] message_rows = new String[message_buffer];
+    private int messages_version = -1;
+    private int timings_rows;           // map rows the timings overlay covered last frame
+
+    private final int map_height_start;
+    private final int map_height_end;
+
+    public Game_Renderer(Render_Backend backend, Color background){
+        this.backend = backend;
+        map_height_start = message_buffer;
+        map_height_end = gridHeight - statistics_height + message_buffer;
+        map_cache = new Map_Render_Cache(backend, map_height_start, gridWidth, map_height_end - map_height_start, background);
+    }
+
+    // Draws everything again on the next render, for a backend something else drew over
+    public void invalidate(){
+        map_cache.invalidate();
+        hud.invalidate();
+        messages_version = -1;
+    }
+
+    // Returns false, having drawn nothing, if the player has no vision left, which means they died
+    public boolean render(World world){
+        Vision vision = entityManager.gc(world.getPlayer(), Vision.class);
+        if(vision == null)
+            return false;
+        if(!Timings.isEnabled() && timings_rows > 0){   // the overlay was turned off, so draw the map under it
+            timings_rows = 0;
+            map_cache.invalidate();
+        }
+        long mapping = Timings.start();
+        render_map(world, vision);
+        Timings.stop(MAP, mapping);
+        Timings.count(REDRAWN, map_cache.getRedrawn());
+        long placing = Timings.start();
+        render_entities(world, vision);
+        Timings.stop(ENTITIES, placing);
+        render_statistics(world);
+        render_messages();
+        render_timings();
+        return true;
+    }
+
+    private void render_messages(){
+        Message_Log log = Message_Log.getInstance();
+        if(log.getVersion() == messages_version)
+            return;
+        messages_version = log.getVersion();
+
+        clear_rows(0, message_buffer);
+        log.fill_rows(message_rows);
+        SColor gray = Colors.getColor("gray");
+        for(int i = 0; i < message_rows.length; i++){
+            backend.put(0, i, message_rows[i], gray, null);
+        }
+    }
+
+    // Written over the top left of the map every frame while timing is on, since the map cache doesn't
+    // know to keep off it. Once it goes, or shrinks, the map is drawn again in full.
+    private void render_timings(){
+        if(!Timings.isEnabled())
+            return;
+        ArrayList<String> lines = Timings.overlay_lines();
+        int rows = Math.min(lines.size(), map_height_end - map_height_start);
+        if(rows < timings_rows)
+            map_cache.invalidate();
+        timings_rows = rows;
+        SColor yellow = SColor.CW_PALE_YELLOW;
+        for(int i = 0; i < rows; i++){
+            backend.put(0, map_height_start + i, lines.get(i), yellow, SColor.BLACK);
+        }
+    }
+
+    private void render_map(World world, Vision vision){
+        map_cache.update(world.getCurrent_map(), vision);
+    }
+
+    // The map is only redrawn where it changed, so text around it is wiped before it's written again
+    private void clear_rows(int from, int to){
+        for(int y = from; y < to; y++){
+            for(int x = 0; x < gridWidth; x++){
+                backend.clear(x, y);
+            }
+        }
+    }
+
+    private void render_statistics(World world){
+        Statistics temp = entityManager.gc(world.getPlayer(), Statistics.class);
+        if(temp == null) return;
+        Combat_Profile profile = entityManager.gc(world.getPlayer(), Equipment.class).get_profile();
+        if(!hud.refresh(temp, profile))
+            return;
+
+        clear_rows(map_height_end, gridHeight);
+        SColor green = Colors.getColor("green");
+        SColor white = Colors.getColor("white");
+        SColor gray = Colors.getColor("gray");
+        SColor black = SColor.BLACK;
+
+        backend.put(1, map_height_end, hud.health, green, black);
+        backend.put(gridWidth / 2 - hud.first.length() / 2, map_height_end, hud.first, white, black);
+        int second_start = gridWidth / 2 - hud.second.length() / 2;
+        backend.put(second_start, map_height_end + 1, hud.second, white, black);
+        backend.put(gridWidth - hud.armor.length() - 1, map_height_end, hud.armor, gray, black);
+        put_clipped(hud.averages, 1, second_start - 1, map_height_end + 1, gray, false);
+        put_clipped(hud.melee, second_start + hud.second.length() + 1, gridWidth - 1, map_height_end + 1, gray, true);
+    }
+
+    // Text kept between columns from and to, against to if right is set, and cut short rather than run
+    // into the centered stat line
+    private void put_clipped(String text, int from, int to, int y, SColor color, boolean right){
+        int width = to - from;
+        if(width <= 0)
+            return;
+        if(text.length() > width)
+            text = text.substring(0, width);
+        backend.put(right ? to - text.length() : from, y, text, color, SColor.BLACK);
+    }
+
+    private void render_entities(World world, Vision vision){
+        if(backend.animating())
+            return;
+        backend.show_entities(world.getCurrent_map(), vision, world.getTurn_system().getActions());
+    }
+}
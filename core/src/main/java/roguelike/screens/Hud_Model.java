@@ -0,0 +1,94 @@
+package roguelike.screens;
+
+import roguelike.Components.Statistics;
+import roguelike.Effects.Combat_Profile;
+import roguelike.Effects.Damage;
+import roguelike.Enums.Damage_Type;
+import roguelike.Enums.Stat;
+
+// The lines of the status bar, built only when the player's statistics or equipment change. Statistics
+// count their changes and Equipment hands out a new Combat_Profile whenever a slot changes, so checking
+// both costs two comparisons and nothing is allocated on a frame where neither moved.
+public class Hud_Model {
+
+    public String health = "";
+    public String first = "";
+    public String second = "";
+    public String armor = "";
+    public String melee = "";
+    public String averages = "";        // expected damage of each of the melee dice, left of the stats
+
+    private Statistics statistics;
+    private int statistics_version;
+    private Combat_Profile profile;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    // Returns true if the lines changed since the last call and need drawing again
+    public boolean refresh(Statistics statistics, Combat_Profile profile){
+        boolean stats_changed = statistics != this.statistics || statistics.getVersion() != statistics_version;
+        boolean profile_changed = profile != this.profile;
+        if(!stats_changed && !profile_changed)
+            return false;
+
+        if(stats_changed){
+            this.statistics = statistics;
+            statistics_version = statistics.getVersion();
+            build_stats();
+        }
+        if(profile_changed){
+            this.profile = profile;
+            build_profile();
+        }
+        return true;
+    }
+
+    // Makes the next refresh report a change, for a display that was cleared or replaced
+    public void invalidate(){
+        statistics = null;
+        profile = null;
+    }
+
+    private void build_stats(){
+        builder.setLength(0);
+        builder.append("HP:").append(statistics.get(Stat.HEALTH)).append('/').append(statistics.maximum(Stat.HEALTH));
+        health = builder.toString();
+
+        builder.setLength(0);
+        builder.append("Str:").append(statistics.get(Stat.STRENGTH))
+                .append(" Int:").append(statistics.get(Stat.INTELLIGENCE))
+                .append(" Will:").append(statistics.get(Stat.WILLPOWER));
+        first = builder.toString();
+
+        builder.setLength(0);
+        builder.append("Con:").append(statistics.get(Stat.CONSTITUTION))
+                .append(" Dex:").append(statistics.get(Stat.DEXTERITY))
+                .append(" Char:").append(statistics.get(Stat.CHARISMA));
+        second = builder.toString();
+    }
+
+    private void build_profile(){
+        builder.setLength(0);
+        builder.append("Pierce:").append(profile.resistance(Damage_Type.PIERCING))
+                .append(" Slash:").append(profile.resistance(Damage_Type.SLASHING))
+                .append(" Crush:").append(profile.resistance(Damage_Type.CRUSHING));
+        armor = builder.toString();
+
+        builder.setLength(0);
+        for(int i = 0; i < profile.damage_count();){
+            Damage damage = profile.damage(i);
+            builder.append("Type: ").append(damage.type).append(' ').append(damage.dice);
+            if(++i < profile.damage_count())  // if we aren't the last item
+                builder.append(", ");
+        }
+        melee = builder.toString();
+
+        builder.setLength(0);
+        for(int i = 0; i < profile.damage_count();){
+            builder.append(i == 0 ? "Avg: " : "").append(Math.round(profile.damage(i).dice.expected() * 10) / 10.0);
+            if(++i < profile.damage_count())
+                builder.append(", ");
+        }
+        averages = builder.toString();
+    }
+}
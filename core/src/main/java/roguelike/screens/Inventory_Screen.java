@@ -3,16 +3,15 @@ package roguelike.screens;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.utils.viewport.StretchViewport;
 import roguelike.Components.Details;
 import roguelike.Components.Inventory;
 import roguelike.engine.Game;
-import squidpony.squidgrid.gui.gdx.DefaultResources;
+import roguelike.engine.Render_Resources;
 import squidpony.squidgrid.gui.gdx.SColor;
 import squidpony.squidgrid.gui.gdx.SparseLayers;
 import squidpony.squidgrid.gui.gdx.SquidInput;
+import squidpony.squidmath.IntVLA;
 
 import static roguelike.Generation.World.entityManager;
 import static roguelike.engine.Game.*;
@@ -24,8 +23,6 @@ public class Inventory_Screen extends ScreenAdapter {
 	private Integer entity;
 	private Game game;
 
-	private SpriteBatch batch;
-	private StretchViewport viewport;
 	private Stage stage;
 	private SparseLayers display;
 
@@ -37,19 +34,13 @@ public class Inventory_Screen extends ScreenAdapter {
 		this.entity = entity;
 		this.game = game;
 
-		batch = new SpriteBatch();
-		viewport = new StretchViewport(gridWidth * cellWidth, gridHeight * cellHeight);
-		viewport.setScreenBounds(0, 0, gridWidth * cellWidth, gridHeight * cellHeight);
-		stage = new Stage(viewport, batch);
-		display = new SparseLayers(gridWidth, gridHeight, cellWidth, cellHeight, DefaultResources.getCrispDejaVuFont());
-		display.font.tweakHeight(cellHeight *1.1f).initBySize();
 		bgColor = SColor.DB_MIDNIGHT;
-		display.fillBackground(bgColor);
+		display = Render_Resources.getInstance().new_display(bgColor);
 	}
 
 	@Override
 	public void show(){
-		stage.addActor(display);
+		stage = Render_Resources.getInstance().show(display);
 		input = new SquidInput((key, alt, ctrl, shift) -> {
 			switch(key) {
 				case SquidInput.ESCAPE:
@@ -74,10 +65,13 @@ public class Inventory_Screen extends ScreenAdapter {
 	}
 
 	public void display_inventory(){
-		for(int i = 0; i < entityManager.gc(entity, Inventory.class).inventory.size(); i++){
-			Integer item = entityManager.gc(entity, Inventory.class).inventory.get(i);
+		Inventory inventory = entityManager.gc(entity, Inventory.class);
+		IntVLA stacks = inventory.stacks();
+		for(int i = 0; i < stacks.size; i++){
+			int item = stacks.get(i);
 			String name = entityManager.gc(item, Details.class).name;
-			display.put(1, i + 1, name, SColor.WHITE);
+			int count = inventory.stack_size(item);
+			display.put(1, i + 1, count > 1 ? name + " (x" + count + ")" : name, SColor.WHITE);
 		}
 	}
 
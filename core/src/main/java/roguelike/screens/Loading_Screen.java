@@ -0,0 +1,125 @@
+package roguelike.screens;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import roguelike.Generation.Factory;
+import roguelike.Generation.World;
+import roguelike.engine.Asset_Registry;
+import roguelike.engine.Game;
+import roguelike.engine.Render_Resources;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static roguelike.engine.Game.*;
+
+// Shown while the data files are read, the templates compiled and the world built on a worker thread,
+// so the window is up and drawing from the first frame. It draws with libGDX's built in font, which
+// needs no loading, and uses its own frames on the GL thread to load the game's font. Once both are
+// done it moves on to the start screen with the world ready.
+public class Loading_Screen extends ScreenAdapter {
+
+    private static final String[] STEPS = { "Reading data files", "Compiling templates", "Building the world" };
+
+    private final Game game;
+    private final ExecutorService loader;
+    private final long started;
+
+    private Future<World> world;
+    private volatile int step;
+    private boolean drawn_once;
+    private boolean font_loaded;
+    private String failure;
+
+    private BitmapFont font;
+    private final StringBuilder line = new StringBuilder();
+
+    public Loading_Screen(Game game){
+        this.game = game;
+        this.started = System.nanoTime();
+        loader = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void show(){
+        font = new BitmapFont();
+        world = loader.submit(() -> {
+            step = 0;
+            Asset_Registry assets = Asset_Registry.getInstance();
+            if(Gdx.app.getLogLevel() >= Application.LOG_DEBUG)
+                Gdx.app.debug("Loading", assets.report());
+            step = 1;
+            Factory.getInstance().setGame(game);    // before the player's Command is made with it
+            step = 2;
+            World built = new World(gridWidth, gridHeight - statistics_height);
+            step = STEPS.length;
+            return built;
+        });
+        loader.shutdown();
+    }
+
+    @Override
+    public void render(float delta){
+        draw();
+
+        // the game's font is a texture, so it has to be made here, after a frame with progress is up
+        if(!font_loaded){
+            if(drawn_once){
+                Render_Resources.getInstance().font();
+                font_loaded = true;
+            }
+            drawn_once = true;
+            return;
+        }
+        if(failure != null || !world.isDone())
+            return;
+
+        try {
+            World loaded = world.get();
+            Gdx.app.debug("Loading", String.format("Loaded in %.1f ms", (System.nanoTime() - started) / 1e6));
+            game.setScreen(new Start_Screen(game, loaded));
+        } catch (Exception e){
+            e.printStackTrace();
+            failure = "Loading failed: " + (e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private void draw(){
+        Stage stage = Render_Resources.getInstance().stage();
+        SpriteBatch batch = Render_Resources.getInstance().batch();
+        stage.getViewport().apply();
+        batch.setProjectionMatrix(stage.getCamera().combined);
+
+        line.setLength(0);
+        if(failure != null)
+            line.append(failure);
+        else{
+            int done = step;
+            line.append('[');
+            for(int i = 0; i < STEPS.length; i++){
+                line.append(i < done ? '#' : '.');
+            }
+            line.append("] ").append(done < STEPS.length ? STEPS[done] : "Starting").append("...");
+        }
+
+        batch.begin();
+        font.setColor(failure != null ? Color.RED : Color.WHITE);
+        font.draw(batch, line, cellWidth * 2, gridHeight * cellHeight / 2);
+        batch.end();
+    }
+
+    @Override
+    public void hide(){
+        font.dispose();
+    }
+}
@@ -0,0 +1,103 @@
+package roguelike.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import roguelike.Components.Sprite;
+import roguelike.Components.Vision;
+import roguelike.Generation.Map;
+import squidpony.squidgrid.gui.gdx.SColor;
+
+// Keeps the map part of a display in step with the map and the viewer's field of view, redrawing only
+// the cells that changed since the last frame. That is every cell after a change of map, the cells a
+// tile edit replaced, and the cells whose light differs once the field of view is worked out again.
+// On a frame where none of that happened nothing is put at all.
+public class Map_Render_Cache {
+
+    private final Render_Backend display;
+    private final int top;              // display row of the map's first row
+    private final int columns, rows;    // how much of the map fits on the display
+    private final Color background;
+
+    private Map map;
+    private int edits_seen;
+    private Vision vision;
+    private int vision_version;
+    private double[][] drawn_light;     // light each cell was last drawn with, 0 for out of sight
+    private boolean full_redraw = true;
+
+    private int redrawn;                // cells put on the last update
+
+    public Map_Render_Cache(Render_Backend display, int top, int columns, int rows, Color background){
+        this.display = display;
+        this.top = top;
+        this.columns = columns;
+        this.rows = rows;
+        this.background = background;
+    }
+
+    // Redraws everything on the next update, for when something else has drawn over the map
+    public void invalidate(){
+        full_redraw = true;
+    }
+
+    public int getRedrawn(){
+        return redrawn;
+    }
+
+    public void update(Map map, Vision vision){
+        redrawn = 0;
+        double[][] fov = vision.getFov();
+        int width = Math.min(columns, map.width()), height = Math.min(rows, map.height());
+        if(drawn_light == null || drawn_light.length != width || drawn_light[0].length != height){
+            drawn_light = new double[width][height];
+            full_redraw = true;
+        }
+
+        if(map != this.map || full_redraw){
+            this.map = map;
+            this.vision = vision;
+            vision_version = vision.getVersion();
+            edits_seen = map.edit_count();
+            full_redraw = false;
+            for(int x = 0; x < width; x++){
+                for(int y = 0; y < height; y++){
+                    draw(x, y, fov[x][y]);
+                }
+            }
+            return;
+        }
+
+        for(; edits_seen < map.edit_count(); edits_seen++){
+            int cell = map.edit(edits_seen);
+            if(cell == Map.REBUILT){
+                full_redraw = true;
+                update(map, vision);
+                return;
+            }
+            int x = cell / map.height(), y = cell % map.height();
+            if(x < width && y < height)
+                draw(x, y, fov[x][y]);
+        }
+
+        if(vision != this.vision || vision.getVersion() != vision_version){
+            this.vision = vision;
+            vision_version = vision.getVersion();
+            for(int x = 0; x < width; x++){
+                double[] light = fov[x], drawn = drawn_light[x];
+                for(int y = 0; y < height; y++){
+                    if(light[y] != drawn[y])
+                        draw(x, y, light[y]);
+                }
+            }
+        }
+    }
+
+    private void draw(int x, int y, double light){
+        Sprite sprite = map.getTileAt(x, y).sprite;
+        if(light > 0)
+            display.put_lit(x, y + top, sprite.character, sprite.foregroundColor, Color.BLACK, SColor.CW_PALE_YELLOW, (float)light);
+        else
+            display.put(x, y + top, sprite.character, sprite.foregroundColor, background);
+        drawn_light[x][y] = light;
+        redrawn++;
+    }
+}
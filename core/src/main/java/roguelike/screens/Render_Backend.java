@@ -0,0 +1,31 @@
+package roguelike.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import roguelike.Components.Vision;
+import roguelike.Generation.Map;
+
+// What Game_Renderer draws onto. The game uses a SparseLayers display, and a text buffer stands in for
+// it where there is no OpenGL, so the render path can be run and checked in a plain JVM.
+public interface Render_Backend {
+
+    int width();
+
+    int height();
+
+    // A null background leaves the cell's background as it is
+    void put(int x, int y, char c, Color foreground, Color background);
+
+    void put(int x, int y, String text, Color foreground, Color background);
+
+    // The background is tinted toward light by amount, 0 to 1
+    void put_lit(int x, int y, char c, Color foreground, Color background, Color light, float amount);
+
+    void clear(int x, int y);
+
+    // True while glyphs are still moving from the last turn, when entities shouldn't be placed
+    boolean animating();
+
+    // Puts up the entities of the map in the field of view and takes down the others. turn is anything
+    // that changes when entities may have moved, appeared or gone.
+    void show_entities(Map map, Vision vision, int turn);
+}
@@ -0,0 +1,68 @@
+package roguelike.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import roguelike.Components.Vision;
+import roguelike.Generation.Map;
+import roguelike.engine.Timings;
+import squidpony.squidgrid.gui.gdx.SparseLayers;
+
+import static roguelike.Generation.World.entityManager;
+
+// Draws on the game's display, with the entities as glyphs kept by the glyph registry
+public class Sparse_Layers_Backend implements Render_Backend {
+
+    private static final int GLYPHS = Timings.counter("glyphs shown");
+
+    private final SparseLayers display;
+
+    public Sparse_Layers_Backend(SparseLayers display){
+        this.display = display;
+    }
+
+    @Override
+    public int width(){
+        return display.getGridWidth();
+    }
+
+    @Override
+    public int height(){
+        return display.getGridHeight();
+    }
+
+    @Override
+    public void put(int x, int y, char c, Color foreground, Color background){
+        if(background == null)
+            display.put(x, y, c, foreground);
+        else
+            display.put(x, y, c, foreground, background);
+    }
+
+    @Override
+    public void put(int x, int y, String text, Color foreground, Color background){
+        if(background == null)
+            display.put(x, y, text, foreground);
+        else
+            display.put(x, y, text, foreground, background);
+    }
+
+    @Override
+    public void put_lit(int x, int y, char c, Color foreground, Color background, Color light, float amount){
+        display.putWithConsistentLight(x, y, c, foreground, background, light, amount);
+    }
+
+    @Override
+    public void clear(int x, int y){
+        display.clear(x, y);
+    }
+
+    @Override
+    public boolean animating(){
+        return display.hasActiveAnimations();
+    }
+
+    @Override
+    public void show_entities(Map map, Vision vision, int turn){
+        entityManager.glyphs.sync(map, vision, turn);
+        Timings.count(GLYPHS, entityManager.glyphs.size());
+    }
+}
@@ -4,8 +4,9 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ScreenAdapter;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import roguelike.Generation.World;
 import roguelike.engine.Game;
-import squidpony.squidgrid.gui.gdx.DefaultResources;
+import roguelike.engine.Render_Resources;
 import squidpony.squidgrid.gui.gdx.SColor;
 import squidpony.squidgrid.gui.gdx.SparseLayers;
 import squidpony.squidgrid.gui.gdx.SquidInput;
@@ -21,25 +22,24 @@ public class Start_Screen extends ScreenAdapter {
     private Color bgColor;
 
     private SquidInput input;
+    private World world;    // built while loading
 
-    public Start_Screen(Game game_in){
+    public Start_Screen(Game game_in, World world){
         game = game_in;
-        stage = game.stage;
-        display = new SparseLayers(gridWidth, gridHeight, cellWidth, cellHeight, DefaultResources.getCrispDejaVuFont());
-        display.font.tweakHeight(cellHeight *1.1f).initBySize();
+        this.world = world;
         bgColor = SColor.DB_MIDNIGHT;
-        display.fillBackground(bgColor);
+        display = Render_Resources.getInstance().new_display(bgColor);
 
     }
 
     @Override
     public void show(){
-	    stage.addActor(display);
+	    stage = Render_Resources.getInstance().show(display);
 	    input = new SquidInput((key, alt, ctrl, shift) -> {
 
 		    switch(key) {
                 case SquidInput.ENTER: {
-	                game.setGame_screen(new Game_Screen(game));
+	                game.setGame_screen(new Game_Screen(game, world));
                     game.setScreen(game.getGame_screen());
                     break;
                 }
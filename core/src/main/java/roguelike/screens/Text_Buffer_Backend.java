@@ -0,0 +1,174 @@
+package roguelike.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import roguelike.Components.Position;
+import roguelike.Components.Sprite;
+import roguelike.Components.Vision;
+import roguelike.Generation.Map;
+import squidpony.squidmath.Coord;
+import squidpony.squidmath.IntVLA;
+
+import static roguelike.Generation.World.entityManager;
+
+// Draws into arrays of chars and RGBA8888 colors instead of onto the screen, so Game_Renderer can run
+// without OpenGL, for comparing what a frame shows against a saved snapshot or timing the render path.
+// Entities are kept in a layer of their own over the cells, as glyphs are over the display. Lit cells
+// are blended here in a straight line between background and light, which is close to, but not the
+// same as, what SparseLayers does.
+public class Text_Buffer_Backend implements Render_Backend {
+
+    private final int width, height;
+    private final int top;              // row of the map's first row, as for the glyph registry
+    private final int background;
+
+    private final char[][] chars;
+    private final int[][] foregrounds;
+    private final int[][] backgrounds;
+    private final char[][] entity_chars;    // 0 where no entity is shown
+    private final int[][] entity_foregrounds;
+    private final IntVLA entity_cells = new IntVLA();   // x * height + y of each shown entity
+
+    private Map shown_map;
+    private Vision shown_vision;
+    private int shown_vision_version;
+    private int shown_turn;
+
+    private int writes;                 // cells written since the last reset_writes
+
+    public Text_Buffer_Backend(int width, int height, int top, Color background){
+        this.width = width;
+        this.height = height;
+        this.top = top;
+        this.background = Color.rgba8888(background);
+        chars = new char[width][height];
+        foregrounds = new int[width][height];
+        backgrounds = new int[width][height];
+        entity_chars = new char[width][height];
+        entity_foregrounds = new int[width][height];
+        for(int x = 0; x < width; x++){
+            for(int y = 0; y < height; y++){
+                clear(x, y);
+            }
+        }
+        writes = 0;
+    }
+
+    @Override
+    public int width(){
+        return width;
+    }
+
+    @Override
+    public int height(){
+        return height;
+    }
+
+    @Override
+    public void put(int x, int y, char c, Color foreground, Color background){
+        if(x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        chars[x][y] = c;
+        foregrounds[x][y] = Color.rgba8888(foreground);
+        if(background != null)
+            backgrounds[x][y] = Color.rgba8888(background);
+        writes++;
+    }
+
+    @Override
+    public void put(int x, int y, String text, Color foreground, Color background){
+        for(int i = 0; i < text.length(); i++){
+            put(x + i, y, text.charAt(i), foreground, background);
+        }
+    }
+
+    @Override
+    public void put_lit(int x, int y, char c, Color foreground, Color background, Color light, float amount){
+        if(x < 0 || y < 0 || x >= width || y >= height)
+            return;
+        amount = Math.max(0f, Math.min(1f, amount));
+        put(x, y, c, foreground, null);
+        backgrounds[x][y] = Color.rgba8888(
+                background.r + (light.r - background.r) * amount,
+                background.g + (light.g - background.g) * amount,
+                background.b + (light.b - background.b) * amount,
+                1f);
+    }
+
+    @Override
+    public void clear(int x, int y){
+        chars[x][y] = ' ';
+        foregrounds[x][y] = 0;
+        backgrounds[x][y] = background;
+        writes++;
+    }
+
+    @Override
+    public boolean animating(){
+        return false;
+    }
+
+    @Override
+    public void show_entities(Map map, Vision vision, int turn){
+        if(map == shown_map && vision == shown_vision && vision.getVersion() == shown_vision_version && turn == shown_turn)
+            return;
+        shown_map = map;
+        shown_vision = vision;
+        shown_vision_version = vision.getVersion();
+        shown_turn = turn;
+
+        for(int i = 0; i < entity_cells.size; i++){
+            int cell = entity_cells.get(i);
+            entity_chars[cell / height][cell % height] = 0;
+        }
+        entity_cells.clear();
+
+        double[][] fov = vision.getFov();
+        for(Integer entity : map.entities){
+            Position position = entityManager.gc(entity, Position.class);
+            Sprite sprite = entityManager.gc(entity, Sprite.class);
+            if(position == null || position.location == null || sprite == null)
+                continue;
+            Coord at = position.location;
+            int y = at.y + top;
+            if(fov[at.x][at.y] <= 0 || at.x >= width || y >= height)
+                continue;
+            entity_chars[at.x][y] = sprite.character;
+            entity_foregrounds[at.x][y] = Color.rgba8888(sprite.foregroundColor);
+            entity_cells.add(at.x * height + y);
+            writes++;
+        }
+    }
+
+    // What the cell shows, the entity standing there if there is one
+    public char char_at(int x, int y){
+        return entity_chars[x][y] != 0 ? entity_chars[x][y] : chars[x][y];
+    }
+
+    public int foreground_at(int x, int y){
+        return entity_chars[x][y] != 0 ? entity_foregrounds[x][y] : foregrounds[x][y];
+    }
+
+    public int background_at(int x, int y){
+        return backgrounds[x][y];
+    }
+
+    public int getWrites(){
+        return writes;
+    }
+
+    public void reset_writes(){
+        writes = 0;
+    }
+
+    // The characters shown, a line per row, for comparing against a saved frame
+    public String snapshot(){
+        StringBuilder builder = new StringBuilder((width + 1) * height);
+        for(int y = 0; y < height; y++){
+            for(int x = 0; x < width; x++){
+                builder.append(char_at(x, y));
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package roguelike.utilities;
+
+import squidpony.squidmath.RNG;
+
+import java.util.Arrays;
+
+// Vose's alias method: after an O(n) setup, picks an index with probability proportional to its
+// weight using one random column and one coin flip, however many weights there are.
+public class Alias_Table {
+
+	private final double[] probability;
+	private final int[] alias;
+
+	public Alias_Table(double[] weights){
+		int size = weights.length;
+		if(size == 0)
+			throw new IllegalArgumentException("An alias table needs at least one weight");
+
+		double total = 0;
+		for(double weight : weights){
+			if(weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight))
+				throw new IllegalArgumentException("Weights must be finite and not negative: " + Arrays.toString(weights));
+			total += weight;
+		}
+		if(total <= 0)
+			throw new IllegalArgumentException("Weights must not all be zero");
+
+		probability = new double[size];
+		alias = new int[size];
+
+		double[] scaled = new double[size];
+		int[] small = new int[size];
+		int[] large = new int[size];
+		int small_count = 0;
+		int large_count = 0;
+		for(int i = 0; i < size; i++){
+			scaled[i] = weights[i] * size / total;
+			if(scaled[i] < 1.0)
+				small[small_count++] = i;
+			else
+				large[large_count++] = i;
+		}
+
+		while(small_count > 0 && large_count > 0){
+			int less = small[--small_count];
+			int more = large[--large_count];
+			probability[less] = scaled[less];
+			alias[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+			if(scaled[more] < 1.0)
+				small[small_count++] = more;
+			else
+				large[large_count++] = more;
+		}
+		// whatever is left is 1 give or take rounding
+		while(large_count > 0){
+			probability[large[--large_count]] = 1.0;
+		}
+		while(small_count > 0){
+			probability[small[--small_count]] = 1.0;
+		}
+	}
+
+	public int size(){
+		return probability.length;
+	}
+
+	public int sample(){
+		return sample(Roll.rng);
+	}
+
+	public int sample(RNG rng){
+		int column = rng.nextInt(probability.length);
+		return rng.nextDouble() < probability[column] ? column : alias[column];
+	}
+
+	// Fills out[offset] to out[offset + count - 1] with samples
+	public void sample_many(int[] out, int offset, int count, RNG rng){
+		for(int i = offset, end = offset + count; i < end; i++){
+			int column = rng.nextInt(probability.length);
+			out[i] = rng.nextDouble() < probability[column] ? column : alias[column];
+		}
+	}
+}
@@ -1,12 +1,22 @@
 package roguelike.utilities;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import org.json.simple.JSONObject;
+import squidpony.squidmath.RNG;
 
+import java.util.concurrent.ConcurrentHashMap;
+
+@Getter
 public class Dice {
 
 	int number_of;
 	int size;
 
+	private static final ConcurrentHashMap<Long, Dice_Distribution> DISTRIBUTIONS = new ConcurrentHashMap<>();
+	@Getter(AccessLevel.NONE)
+	private Dice_Distribution distribution;     // shared, looked up the first time it's needed
+
 	public Dice(JSONObject object){
 		this.number_of = (int)(long)object.get("number of");
 		this.size = (int)(long)object.get("size");
@@ -18,15 +28,45 @@ public class Dice {
 	}
 
 	public int roll(){
+		return roll(Roll.rng);
+	}
 
-		int x = 0;
+	// one die is a single call either way, a pool is one draw from its distribution
+	public int roll(RNG rng){
+		if(number_of == 1)
+			return rng.nextInt(size) + 1;
 
-		for(int i = 0; i < number_of; i++){
-			x += Roll.rand(1, size);
-		}
+		return distribution().sample(rng);
+	}
 
-		return x;
+	public void roll_many(int[] out){
+		roll_many(out, 0, out.length, Roll.rng);
+	}
 
+	public void roll_many(int[] out, int offset, int count, RNG rng){
+		distribution().sample_many(out, offset, count, rng);
+	}
+
+	public double expected(){
+		return distribution().mean;
+	}
+
+	public Dice_Distribution distribution(){
+		if(distribution == null)
+			distribution = distribution(number_of, size);
+		return distribution;
+	}
+
+	public static Dice_Distribution distribution(int number_of, int size){
+		Long key = (long)number_of << 32 | (size & 0xFFFFFFFFL);
+		Dice_Distribution found = DISTRIBUTIONS.get(key);
+		if(found == null){
+			found = new Dice_Distribution(number_of, size);
+			Dice_Distribution raced = DISTRIBUTIONS.putIfAbsent(key, found);
+			if(raced != null)
+				found = raced;
+		}
+		return found;
 	}
 
 
@@ -0,0 +1,80 @@
+package roguelike.utilities;
+
+import squidpony.squidmath.RNG;
+
+// The exact distribution of the total of N dice with S sides, worked out by convolving one die at a
+// time. Sampling goes through an alias table over the totals, so a roll of any size pool costs the
+// same two random numbers. Immutable; Dice shares one per NdS.
+public class Dice_Distribution {
+
+	public final int minimum;
+	public final int maximum;
+	public final double mean;
+	public final double variance;
+
+	private final double[] pmf;     // by total - minimum
+	private final double[] cdf;
+	private final Alias_Table alias;
+
+	Dice_Distribution(int number_of, int size){
+		if(number_of < 0 || size < 1)
+			throw new IllegalArgumentException("Can't roll " + number_of + "d" + size);
+
+		minimum = number_of;
+		maximum = number_of * size;
+
+		// ways[i] is the probability of totalling minimum + i with the dice added so far
+		double[] ways = { 1.0 };
+		for(int die = 0; die < number_of; die++){
+			double[] next = new double[ways.length + size - 1];
+			// plain sums rather than a sliding window, subtracting lets rounding push big pools' tails negative
+			for(int i = 0; i < ways.length; i++){
+				double share = ways[i] / size;
+				for(int face = 0; face < size; face++){
+					next[i + face] += share;
+				}
+			}
+			ways = next;
+		}
+		pmf = ways;
+
+		cdf = new double[pmf.length];
+		double total = 0, sum = 0, squares = 0;
+		for(int i = 0; i < pmf.length; i++){
+			total += pmf[i];
+			cdf[i] = total;
+			sum += pmf[i] * (minimum + i);
+			squares += pmf[i] * (minimum + i) * (minimum + i);
+		}
+		cdf[cdf.length - 1] = 1.0;
+		mean = sum;
+		variance = squares - sum * sum;
+
+		alias = pmf.length > 1 ? new Alias_Table(pmf) : null;
+	}
+
+	// chance of rolling exactly total
+	public double probability(int total){
+		return total < minimum || total > maximum ? 0.0 : pmf[total - minimum];
+	}
+
+	// chance of rolling total or less
+	public double at_most(int total){
+		return total < minimum ? 0.0 : total >= maximum ? 1.0 : cdf[total - minimum];
+	}
+
+	public int sample(RNG rng){
+		return alias == null ? minimum : minimum + alias.sample(rng);
+	}
+
+	public void sample_many(int[] out, int offset, int count, RNG rng){
+		if(alias == null){
+			java.util.Arrays.fill(out, offset, offset + count, minimum);
+			return;
+		}
+		alias.sample_many(out, offset, count, rng);
+		for(int i = offset, end = offset + count; i < end; i++){
+			out[i] += minimum;
+		}
+	}
+}
@@ -16,6 +16,11 @@ public class Roll {
     
     public static RNG rng = new RNG(random);
 
+    // Starts the sequence over from seed, for runs that have to come out the same every time
+    public static void seed(long seed){
+        random.setState(seed);
+    }
+
     public static int rand(int min, int max){
         return random.nextInt(min, max+1);
     }
@@ -1,5 +1,7 @@
 package roguelike.utilities;
 
+import java.util.ArrayList;
+
 public class Word {
 
 	public static String capitalize_all(String name){
@@ -19,4 +21,26 @@ public class Word {
 
 		return name;
 	}
+
+	// Splits text into lines of at most width characters, breaking at spaces where there are any
+	public static String[] wrap(String text, int width){
+		if(text.length() <= width)
+			return new String[]{text};
+
+		ArrayList<String> lines = new ArrayList<>();
+		int start = 0;
+		while(text.length() - start > width){
+			int end = text.lastIndexOf(' ', start + width);
+			if(end <= start){   // one word longer than a line
+				lines.add(text.substring(start, start + width));
+				start += width;
+			}
+			else{
+				lines.add(text.substring(start, end));
+				start = end + 1;
+			}
+		}
+		lines.add(text.substring(start));
+		return lines.toArray(new String[0]);
+	}
 }
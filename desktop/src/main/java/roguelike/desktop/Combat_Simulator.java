@@ -0,0 +1,196 @@
+package roguelike.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import roguelike.Actions.Melee_Attack;
+import roguelike.Components.Energy;
+import roguelike.Components.Statistics;
+import roguelike.Effects.Combat_Profile;
+import roguelike.Enums.Stat;
+import roguelike.Generation.Entity_Template;
+import roguelike.Generation.Factory;
+import roguelike.Generation.Weighted_Table;
+import roguelike.Systems.Death_System;
+import squidpony.squidmath.LinnormRNG;
+import squidpony.squidmath.RNG;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs duels between two entities or groups from the data files and reports how they went, for balancing
+ * items.json and races.json. Every fight rolls fresh equipment the way spawning does, then both sides
+ * attack with the same attack resolution and death check the game uses until one drops.
+ *
+ * Usage: gradle simulate -Pduel="goblin,human rockthrower[,fights[,threads[,seed]]]"
+ */
+public class Combat_Simulator {
+    private static final int MAX_TURNS = 10000;     // a fight nobody can win counts as a draw
+    private static final int TURN_BUCKETS = 200;    // turns to kill at or past this share the last bucket
+    private static final int DAMAGE_BUCKETS = 64;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: Combat_Simulator <entity or group:name> <entity or group:name> [fights] [threads] [seed]");
+            return;
+        }
+        String first = args[0];
+        String second = args[1];
+        long fights = args.length > 2 ? Long.parseLong(args[2]) : 1000000L;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        Gdx.files = new HeadlessFiles();
+        Factory factory = Factory.getInstance();
+        Weighted_Table<Entity_Template> first_table = factory.entity_table(first);
+        Weighted_Table<Entity_Template> second_table = factory.entity_table(second);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Tally>> results = new ArrayList<Future<Tally>>();
+        long start = System.nanoTime();
+        for (int worker = 0; worker < threads; worker++) {
+            long share = fights / threads + (worker < fights % threads ? 1 : 0);
+            results.add(pool.submit(new Worker(first_table, second_table, share, seed + worker)));
+        }
+        Tally total = new Tally();
+        for (Future<Tally> result : results) {
+            total.add(result.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        report(first, second, total, threads, seed, elapsed);
+    }
+
+    // One thread's share of the fights, with its own RNG and its own fighters so nothing is shared
+    private static class Worker implements Callable<Tally> {
+        private final Weighted_Table<Entity_Template> first;
+        private final Weighted_Table<Entity_Template> second;
+        private final long fights;
+        private final RNG rng;
+        private final Statistics[] statistics = { new Statistics(), new Statistics() };
+        private final Combat_Profile[] profiles = new Combat_Profile[2];
+        private final int[] speed = new int[2];
+        private final Energy[] energy = { new Energy(0), new Energy(0) };
+
+        Worker(Weighted_Table<Entity_Template> first, Weighted_Table<Entity_Template> second, long fights, long seed) {
+            this.first = first;
+            this.second = second;
+            this.fights = fights;
+            this.rng = new RNG(new LinnormRNG(seed));
+        }
+
+        @Override
+        public Tally call() {
+            Tally tally = new Tally();
+            for (long i = 0; i < fights; i++) {
+                fight(tally);
+            }
+            return tally;
+        }
+
+        private void fight(Tally tally) {
+            set_up(0, first.sample(rng));
+            set_up(1, second.sample(rng));
+            int initiative = rng.nextInt(2);    // who acts first on a turn both are ready
+
+            for (int turn = 1; turn <= MAX_TURNS; turn++) {
+                for (int order = 0; order < 2; order++) {
+                    int attacker = order ^ initiative;
+                    int defender = attacker ^ 1;
+                    energy[attacker].energy += speed[attacker];
+                    int damage = Melee_Attack.strike(energy[attacker], profiles[attacker], profiles[defender], rng);
+                    if (damage < 0)
+                        continue;
+                    tally.hits[attacker]++;
+                    tally.damage_dealt[attacker] += damage;
+                    tally.damage[attacker][Math.min(damage, DAMAGE_BUCKETS - 1)]++;
+                    if (Death_System.apply(statistics[defender], Stat.HEALTH, -damage)) {
+                        tally.wins[attacker]++;
+                        tally.turns[attacker][Math.min(turn, TURN_BUCKETS - 1)]++;
+                        tally.turn_total[attacker] += turn;
+                        return;
+                    }
+                }
+            }
+            tally.draws++;
+        }
+
+        private void set_up(int side, Entity_Template template) {
+            template.reset_statistics(statistics[side]);
+            profiles[side] = template.roll_profile(rng);
+            speed[side] = template.speed();
+            energy[side].energy = 0;
+        }
+    }
+
+    private static class Tally {
+        final long[] wins = new long[2];
+        long draws;
+        final long[] hits = new long[2];
+        final long[] damage_dealt = new long[2];
+        final long[] turn_total = new long[2];
+        final long[][] turns = new long[2][TURN_BUCKETS];
+        final long[][] damage = new long[2][DAMAGE_BUCKETS];
+
+        void add(Tally other) {
+            draws += other.draws;
+            for (int side = 0; side < 2; side++) {
+                wins[side] += other.wins[side];
+                hits[side] += other.hits[side];
+                damage_dealt[side] += other.damage_dealt[side];
+                turn_total[side] += other.turn_total[side];
+                for (int i = 0; i < TURN_BUCKETS; i++) turns[side][i] += other.turns[side][i];
+                for (int i = 0; i < DAMAGE_BUCKETS; i++) damage[side][i] += other.damage[side][i];
+            }
+        }
+
+        long fights() {
+            return wins[0] + wins[1] + draws;
+        }
+    }
+
+    private static void report(String first, String second, Tally tally, int threads, long seed, long elapsed) {
+        long fights = tally.fights();
+        String[] names = { first, second };
+        System.out.printf("%,d fights of %s vs %s on %d threads (seed %d)%n", fights, first, second, threads, seed);
+        System.out.printf("%.2f s, %,.0f fights/s%n%n", elapsed / 1e9, fights / (elapsed / 1e9));
+
+        for (int side = 0; side < 2; side++) {
+            long wins = tally.wins[side];
+            System.out.printf("%s%n", names[side]);
+            System.out.printf("  wins          %6.2f%%  (%,d)%n", 100.0 * wins / fights, wins);
+            if (wins > 0) {
+                System.out.printf("  turns to kill mean %.1f, median %d, 90th %d, 99th %d%n", (double)tally.turn_total[side] / wins,
+                        percentile(tally.turns[side], wins, 0.5), percentile(tally.turns[side], wins, 0.9), percentile(tally.turns[side], wins, 0.99));
+            }
+            long hits = tally.hits[side];
+            if (hits > 0) {
+                System.out.printf("  damage per hit mean %.2f, median %d, 90th %d, zero %.1f%%%n", (double)tally.damage_dealt[side] / hits,
+                        percentile(tally.damage[side], hits, 0.5), percentile(tally.damage[side], hits, 0.9), 100.0 * tally.damage[side][0] / hits);
+                System.out.print("  damage  ");
+                for (int i = 0; i < DAMAGE_BUCKETS; i++) {
+                    if (tally.damage[side][i] > 0)
+                        System.out.printf(" %d:%.1f%%", i, 100.0 * tally.damage[side][i] / hits);
+                }
+                System.out.println();
+            }
+        }
+        System.out.printf("draws after %d turns %.2f%%%n", MAX_TURNS, 100.0 * tally.draws / fights);
+    }
+
+    private static int percentile(long[] histogram, long count, double fraction) {
+        long target = (long)Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= target)
+                return i;
+        }
+        return histogram.length - 1;
+    }
+}
@@ -0,0 +1,93 @@
+package roguelike.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import roguelike.Generation.Factory;
+import roguelike.Generation.World;
+import roguelike.engine.EntityManager;
+import roguelike.engine.Game;
+import roguelike.engine.Message_Log;
+import roguelike.screens.Game_Renderer;
+import roguelike.screens.Text_Buffer_Backend;
+import roguelike.utilities.Roll;
+import squidpony.squidgrid.gui.gdx.SColor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Draws the game screen of a freshly built world onto a text buffer, with no OpenGL, and times full
+ * redraws against frames where nothing changed. Render_Golden_Test checks the first frame of the same
+ * world against the saved one.
+ *
+ * Usage: gradle renderBenchmark [-Pupdate] where -Pupdate saves the first frame as the new golden one
+ */
+public class Render_Benchmark {
+    static final long SEED = 1L;
+    private static final int FRAMES = 2000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: Render_Benchmark <golden frame file> [update]");
+            return;
+        }
+        File golden = new File(args[0]);
+        boolean update = args.length > 1 && args[1].equals("update");
+
+        World world = build_world();
+        Text_Buffer_Backend backend = new_backend();
+        Game_Renderer renderer = new Game_Renderer(backend, SColor.DB_MIDNIGHT);
+
+        if (!renderer.render(world)) {
+            System.out.println("The player has no vision, nothing was drawn");
+            System.exit(1);
+        }
+        System.out.printf("first frame: %d cells written%n", backend.getWrites());
+        if (update) {
+            Files.write(golden.toPath(), backend.snapshot().getBytes(StandardCharsets.UTF_8));
+            System.out.println("saved the first frame to " + golden.getPath());
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            backend.reset_writes();
+            long start = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) {
+                renderer.invalidate();
+                renderer.render(world);
+            }
+            long full = System.nanoTime() - start;
+            long full_writes = backend.getWrites();
+
+            backend.reset_writes();
+            start = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) {
+                renderer.render(world);
+            }
+            long idle = System.nanoTime() - start;
+
+            System.out.printf("round %d: full redraw %8.0f ns/frame (%d cells), unchanged %6.0f ns/frame (%d cells)%n",
+                    round, (double)full / FRAMES, full_writes / FRAMES, (double)idle / FRAMES, backend.getWrites() / FRAMES);
+        }
+        world.dispose();
+    }
+
+    /**
+     * A new world from SEED with an empty message log. The dice are seeded too, so the monsters and their
+     * equipment come out the same on every run.
+     */
+    static World build_world() {
+        Gdx.files = new HeadlessFiles();
+        World.entityManager = new EntityManager();
+        Message_Log.message_log = null;
+        Factory.getInstance();
+        Roll.seed(SEED);
+        return new World(Game.gridWidth, Game.gridHeight - Game.statistics_height, SEED);
+    }
+
+    static Text_Buffer_Backend new_backend() {
+        return new Text_Buffer_Backend(Game.gridWidth, Game.gridHeight, Game.message_buffer, SColor.DB_MIDNIGHT);
+    }
+}
@@ -0,0 +1,62 @@
+package roguelike.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import roguelike.Components.Position;
+import roguelike.Components.Vision;
+import roguelike.Generation.Factory;
+import roguelike.Generation.Map;
+import roguelike.Generation.Tile;
+import roguelike.Generation.World;
+import roguelike.engine.Asset_Registry;
+import roguelike.engine.EntityManager;
+import squidpony.squidmath.Coord;
+
+import java.util.ArrayList;
+
+/** Times spawning a wave of monsters one at a time against Factory.spawn_group. Run with gradle spawnBenchmark. */
+public class Spawn_Benchmark {
+    private static final int SPAWNS = 10000;
+    private static final int ROUNDS = 10;
+    private static final String GROUP = "group:goblins";
+
+    public static void main(String[] args) {
+        Gdx.files = new HeadlessFiles();
+        Factory factory = Factory.getInstance();
+        Tile floor = Asset_Registry.getInstance().tile("floor - dungeon");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Map map = open_map(floor);
+            long start = System.nanoTime();
+            for (int i = 0; i < SPAWNS; i++) {
+                // the way build_player used to place monsters, with vision worked out straight away
+                Coord location = Coord.get(i % map.width(), i / map.width());
+                Integer entity = factory.create_new_entity(GROUP);
+                World.entityManager.gc(entity, Position.class).map = map;
+                World.entityManager.gc(entity, Position.class).location = location;
+                Vision vision = new Vision(location, map, 5.0);
+                vision.getFov();
+                World.entityManager.addComponent(entity, vision);
+                map.entities.add(entity);
+            }
+            long one_at_a_time = System.nanoTime() - start;
+
+            map = open_map(floor);
+            start = System.nanoTime();
+            ArrayList<Integer> spawned = factory.spawn_group(GROUP, SPAWNS, map);
+            long batch = System.nanoTime() - start;
+
+            System.out.printf("round %2d: one at a time %8.2f ms, spawn_group %8.2f ms (%d spawned)%n",
+                    round, one_at_a_time / 1e6, batch / 1e6, spawned.size());
+        }
+    }
+
+    private static Map open_map(Tile floor) {
+        World.entityManager = new EntityManager();
+        Tile[][] tiles = new Tile[120][120];
+        for (Tile[] column : tiles) {
+            java.util.Arrays.fill(column, floor);
+        }
+        return new Map(tiles);
+    }
+}
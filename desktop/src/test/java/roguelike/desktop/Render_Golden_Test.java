@@ -0,0 +1,68 @@
+package roguelike.desktop;
+
+import org.junit.After;
+import org.junit.Test;
+import roguelike.Generation.World;
+import roguelike.screens.Game_Renderer;
+import roguelike.screens.Text_Buffer_Backend;
+import squidpony.squidgrid.gui.gdx.SColor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Renders the world Render_Benchmark builds onto a text buffer, with no OpenGL, and compares the first
+ * frame against golden/game_screen.txt. After a deliberate change to the screen, save a new golden frame
+ * with gradle renderBenchmark -Pupdate.
+ */
+public class Render_Golden_Test {
+    private static final File GOLDEN = new File("golden/game_screen.txt");
+
+    private World world;
+
+    @After
+    public void dispose() {
+        if (world != null)
+            world.dispose();
+    }
+
+    @Test
+    public void first_frame_matches_golden() throws IOException {
+        world = Render_Benchmark.build_world();
+        Text_Buffer_Backend backend = Render_Benchmark.new_backend();
+
+        assertTrue("the player has no vision", new Game_Renderer(backend, SColor.DB_MIDNIGHT).render(world));
+        assertEquals(new String(Files.readAllBytes(GOLDEN.toPath()), StandardCharsets.UTF_8), backend.snapshot());
+    }
+
+    @Test
+    public void first_frame_repeats() {
+        world = Render_Benchmark.build_world();
+        Text_Buffer_Backend first = Render_Benchmark.new_backend();
+        new Game_Renderer(first, SColor.DB_MIDNIGHT).render(world);
+        world.dispose();
+
+        world = Render_Benchmark.build_world();
+        Text_Buffer_Backend second = Render_Benchmark.new_backend();
+        new Game_Renderer(second, SColor.DB_MIDNIGHT).render(world);
+
+        assertEquals(first.snapshot(), second.snapshot());
+    }
+
+    @Test
+    public void turn_runs_without_a_display() {
+        world = Render_Benchmark.build_world();
+        Text_Buffer_Backend backend = Render_Benchmark.new_backend();
+        Game_Renderer renderer = new Game_Renderer(backend, SColor.DB_MIDNIGHT);
+        renderer.render(world);
+
+        world.getTurn_system().process();
+
+        assertTrue("the player has no vision", renderer.render(world));
+    }
+}